@@ -0,0 +1,71 @@
+package code.cargocultprogramming;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Lock-free breaker: opens after N consecutive failures, then lets one trial call through after the cool-down
+class CircuitBreaker {
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+    // Open, with the deadline still being written; refuses calls like OPEN but never starts a trial
+    private static final int OPENING = 3;
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openUntil = new AtomicLong();
+
+    CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    }
+
+    boolean tryAcquire() {
+        int current = state.get();
+        if (current == CLOSED) {
+            return true;
+        }
+        if (current == OPEN && System.nanoTime() - openUntil.get() >= 0) {
+            return state.compareAndSet(OPEN, HALF_OPEN);
+        }
+        return false;
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+        state.set(CLOSED);
+    }
+
+    void onFailure() {
+        if (state.get() == HALF_OPEN) {
+            open(HALF_OPEN);
+        } else if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open(CLOSED);
+        }
+    }
+
+    // Only the failure that wins the transition sets the deadline, so late failures cannot extend it
+    private void open(int from) {
+        if (state.compareAndSet(from, OPENING)) {
+            consecutiveFailures.set(0);
+            openUntil.set(System.nanoTime() + openNanos);
+            // A success that landed meanwhile has closed the breaker again; leave it closed
+            state.compareAndSet(OPENING, OPEN);
+        }
+    }
+
+    String getState() {
+        switch (state.get()) {
+            case OPEN:
+            case OPENING:
+                return "OPEN";
+            case HALF_OPEN:
+                return "HALF_OPEN";
+            default:
+                return "CLOSED";
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package code.cargocultprogramming;
+
+public class CircuitOpenException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public CircuitOpenException(String endpoint) {
+        super("Circuit is open for endpoint " + endpoint);
+    }
+}
@@ -0,0 +1,272 @@
+package code.cargocultprogramming;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Bounded pool of DatabaseConnections. A semaphore caps how many are borrowed at once and idle ones sit
+// in a lock-free LIFO deque, so an uncontended borrow/return is a couple of CAS operations.
+public class ConnectionPool implements AutoCloseable {
+    private static final long MAINTENANCE_INTERVAL_MILLIS = 1_000;
+
+    private final Supplier<DatabaseConnection> factory;
+    private final int minIdle;
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+    private final long leakThresholdNanos;
+    private final Semaphore permits;
+    private final Deque<PoolEntry> idle = new ConcurrentLinkedDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicBoolean warmedUp = new AtomicBoolean();
+    private final ScheduledExecutorService maintenance;
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder totalBorrowWaitNanos = new LongAdder();
+    private final AtomicLong maxBorrowWaitNanos = new AtomicLong();
+    // Borrowers wait here only while warm-up holds every slot; returns and creations signal them
+    private final ReentrantLock slotLock = new ReentrantLock();
+    private final Condition slotAvailable = slotLock.newCondition();
+    private final AtomicInteger slotWaiters = new AtomicInteger();
+    private volatile boolean closed;
+
+    public ConnectionPool(Supplier<DatabaseConnection> factory, int minIdle, int maxSize,
+                          long idleTimeoutMillis, long leakThresholdMillis) {
+        if (maxSize <= 0 || minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Pool sizes must satisfy 0 <= minIdle <= maxSize and maxSize > 0");
+        }
+        this.factory = factory;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.leakThresholdNanos = TimeUnit.MILLISECONDS.toNanos(leakThresholdMillis);
+        this.permits = new Semaphore(maxSize);
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "connection-pool-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleWithFixedDelay(this::maintain,
+                MAINTENANCE_INTERVAL_MILLIS, MAINTENANCE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public PooledConnection borrow(long timeoutMillis) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Pool is closed");
+        }
+        if (warmedUp.compareAndSet(false, true)) {
+            maintenance.execute(() -> runStep("warm-up", this::fillToMinIdle));
+        }
+        long start = System.nanoTime();
+        if (!permits.tryAcquire() && !permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw timedOut(timeoutMillis);
+        }
+        PoolEntry entry;
+        try {
+            entry = takeValidOrCreate(start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis), timeoutMillis);
+        } catch (InterruptedException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        PooledConnection pooled = new PooledConnection(this, entry, leakThresholdNanos > 0);
+        borrowed.add(pooled);
+        long wait = System.nanoTime() - start;
+        borrows.increment();
+        totalBorrowWaitNanos.add(wait);
+        if (wait > maxBorrowWaitNanos.get()) {
+            maxBorrowWaitNanos.accumulateAndGet(wait, Math::max);
+        }
+        return pooled;
+    }
+
+    private IllegalStateException timedOut(long timeoutMillis) {
+        timeouts.increment();
+        return new IllegalStateException("Timed out after " + timeoutMillis + "ms waiting for a connection");
+    }
+
+    private PoolEntry takeValidOrCreate(long deadline, long timeoutMillis) throws InterruptedException {
+        while (true) {
+            PoolEntry entry = idle.pollFirst();
+            if (entry == null) {
+                if (reserveSlot()) {
+                    return create();
+                }
+                // Every slot is taken by idle connections still being added by warm-up
+                if (!awaitSlot(deadline)) {
+                    throw timedOut(timeoutMillis);
+                }
+            } else if (entry.connection().isValid()) {
+                return entry;
+            } else {
+                destroy(entry);
+            }
+        }
+    }
+
+    private boolean reserveSlot() {
+        int current;
+        do {
+            current = total.get();
+            if (current >= maxSize) {
+                return false;
+            }
+        } while (!total.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    // Waits until an idle connection or a free slot may be available; false once the deadline passes
+    private boolean awaitSlot(long deadline) throws InterruptedException {
+        slotWaiters.incrementAndGet();
+        slotLock.lock();
+        try {
+            while (idle.isEmpty() && total.get() >= maxSize) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                slotAvailable.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            slotLock.unlock();
+            slotWaiters.decrementAndGet();
+        }
+    }
+
+    // Waiters register before checking the pool, so skipping the lock when there are none misses nobody
+    private void signalSlot() {
+        if (slotWaiters.get() > 0) {
+            slotLock.lock();
+            try {
+                slotAvailable.signalAll();
+            } finally {
+                slotLock.unlock();
+            }
+        }
+    }
+
+    // The caller must have reserved a slot
+    private PoolEntry create() {
+        try {
+            PoolEntry entry = new PoolEntry(factory.get());
+            created.increment();
+            return entry;
+        } catch (RuntimeException e) {
+            total.decrementAndGet();
+            signalSlot();
+            throw e;
+        }
+    }
+
+    void release(PooledConnection pooled) {
+        if (!pooled.markReturned()) {
+            return;
+        }
+        borrowed.remove(pooled);
+        PoolEntry entry = pooled.entry();
+        entry.touch();
+        if (closed || !entry.connection().isValid()) {
+            destroy(entry);
+        } else {
+            idle.offerFirst(entry);
+            signalSlot();
+        }
+        permits.release();
+    }
+
+    private void destroy(PoolEntry entry) {
+        entry.connection().close();
+        total.decrementAndGet();
+        destroyed.increment();
+        signalSlot();
+    }
+
+    // Each step is guarded separately: an exception escaping a scheduled run would cancel all later runs
+    private void maintain() {
+        runStep("idle eviction", this::evictIdle);
+        runStep("refill", this::fillToMinIdle);
+        runStep("leak report", this::reportLeaks);
+    }
+
+    private static void runStep(String step, Runnable body) {
+        try {
+            body.run();
+        } catch (RuntimeException e) {
+            System.err.println("Connection pool " + step + " failed: " + e);
+        }
+    }
+
+    // Oldest idle connections sit at the tail of the LIFO deque
+    private void evictIdle() {
+        long now = System.nanoTime();
+        Iterator<PoolEntry> oldestFirst = idle.descendingIterator();
+        while (oldestFirst.hasNext() && total.get() > minIdle) {
+            PoolEntry entry = oldestFirst.next();
+            if (now - entry.getLastUsedAt() < idleTimeoutNanos) {
+                break;
+            }
+            if (idle.removeLastOccurrence(entry)) {
+                destroy(entry);
+            }
+        }
+    }
+
+    private void fillToMinIdle() {
+        while (!closed && idle.size() < minIdle && reserveSlot()) {
+            idle.offerLast(create());
+            signalSlot();
+        }
+    }
+
+    private void reportLeaks() {
+        if (leakThresholdNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (PooledConnection pooled : borrowed) {
+            long borrowedAt = pooled.getBorrowedAt();
+            if (now - borrowedAt > leakThresholdNanos && !pooled.isLeakReported()) {
+                pooled.setLeakReported();
+                Throwable site = pooled.getBorrowSite();
+                System.err.println("Possible connection leak: held for "
+                        + TimeUnit.NANOSECONDS.toMillis(now - borrowedAt) + "ms");
+                if (site != null) {
+                    site.printStackTrace();
+                }
+            }
+        }
+    }
+
+    public ConnectionPoolStats stats() {
+        long count = borrows.sum();
+        return new ConnectionPoolStats(total.get(), idle.size(), borrowed.size(), maxSize, count, timeouts.sum(),
+                created.sum(), destroyed.sum(), count == 0 ? 0 : totalBorrowWaitNanos.sum() / count,
+                maxBorrowWaitNanos.get());
+    }
+
+    // Idle connections close now; borrowed ones close when they are returned
+    @Override
+    public void close() {
+        closed = true;
+        maintenance.shutdown();
+        PoolEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            destroy(entry);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package code.cargocultprogramming;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.LockSupport;
+
+// Requests/sec when every request opens a new connection versus borrowing from the pool
+public class ConnectionPoolBenchmark {
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = 2_000;
+    private static final long CONNECT_NANOS = 2_000_000;
+    private static final long QUERY_NANOS = 50_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int round = 0; round < 2; round++) {
+            run("new connection per request", () -> {
+                DatabaseConnection connection = new InMemoryDatabaseConnection(CONNECT_NANOS);
+                query(connection);
+                connection.close();
+            });
+
+            try (ConnectionPool pool = new ConnectionPool(
+                    () -> new InMemoryDatabaseConnection(CONNECT_NANOS), 4, THREADS, 30_000, 5_000)) {
+                run("pooled", () -> {
+                    try (PooledConnection connection = pool.borrow(1_000)) {
+                        query(connection.get());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                System.out.println(pool.stats());
+            }
+        }
+    }
+
+    private static void query(DatabaseConnection connection) {
+        if (!connection.isValid()) {
+            throw new IllegalStateException("Connection is closed");
+        }
+        LockSupport.parkNanos(QUERY_NANOS);
+    }
+
+    private static void run(String label, Runnable request) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(THREADS);
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    request.run();
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-28s %,10.0f requests/sec%n", label, THREADS * REQUESTS_PER_THREAD / seconds);
+    }
+
+    // Stand-in for a real driver connection: setup costs a fixed delay, nothing touches the network
+    private static class InMemoryDatabaseConnection extends DatabaseConnection {
+        InMemoryDatabaseConnection(long connectNanos) {
+            super(false);
+            LockSupport.parkNanos(connectNanos);
+        }
+    }
+}
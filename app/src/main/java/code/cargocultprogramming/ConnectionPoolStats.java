@@ -0,0 +1,76 @@
+package code.cargocultprogramming;
+
+public class ConnectionPoolStats {
+    private final int total;
+    private final int idle;
+    private final int inUse;
+    private final int maxSize;
+    private final long borrows;
+    private final long timeouts;
+    private final long created;
+    private final long destroyed;
+    private final long averageBorrowWaitNanos;
+    private final long maxBorrowWaitNanos;
+
+    ConnectionPoolStats(int total, int idle, int inUse, int maxSize, long borrows, long timeouts,
+                        long created, long destroyed, long averageBorrowWaitNanos, long maxBorrowWaitNanos) {
+        this.total = total;
+        this.idle = idle;
+        this.inUse = inUse;
+        this.maxSize = maxSize;
+        this.borrows = borrows;
+        this.timeouts = timeouts;
+        this.created = created;
+        this.destroyed = destroyed;
+        this.averageBorrowWaitNanos = averageBorrowWaitNanos;
+        this.maxBorrowWaitNanos = maxBorrowWaitNanos;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getInUse() {
+        return inUse;
+    }
+
+    public double getUtilization() {
+        return maxSize == 0 ? 0 : (double) inUse / maxSize;
+    }
+
+    public long getBorrows() {
+        return borrows;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getDestroyed() {
+        return destroyed;
+    }
+
+    public long getAverageBorrowWaitNanos() {
+        return averageBorrowWaitNanos;
+    }
+
+    public long getMaxBorrowWaitNanos() {
+        return maxBorrowWaitNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pool: total=%d idle=%d inUse=%d utilization=%.0f%% borrows=%d timeouts=%d "
+                        + "created=%d destroyed=%d avgWait=%dus maxWait=%dus",
+                total, idle, inUse, getUtilization() * 100, borrows, timeouts, created, destroyed,
+                averageBorrowWaitNanos / 1_000, maxBorrowWaitNanos / 1_000);
+    }
+}
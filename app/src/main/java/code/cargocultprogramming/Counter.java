@@ -0,0 +1,16 @@
+package code.cargocultprogramming;
+
+public interface Counter {
+    void increment();
+
+    void add(long delta);
+
+    // Exact only when isExact() is true; otherwise may trail recent updates
+    long get();
+
+    boolean isExact();
+
+    default int getCount() {
+        return (int) get();
+    }
+}
@@ -0,0 +1,77 @@
+package code.cargocultprogramming;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+// Increments/sec for each counter variant from 1 to 64 threads, and whether the final total is exact
+public class CounterBenchmark {
+    private static final long DURATION_MILLIS = 500;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int threads : new int[] {1, 2, 4, 8, 16, 32, 64}) {
+            run("synchronized", threads, SynchronizedCounter::new);
+            run("atomic", threads, AtomicCounter::new);
+            run("striped", threads, StripedCounter::new);
+            run("sharded", threads, () -> new ShardedCounter(100));
+        }
+    }
+
+    private static void run(String label, int threads, Supplier<Counter> factory) throws InterruptedException {
+        Counter counter = factory.get();
+        long[] perThread = new long[threads];
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        long stopAt = System.nanoTime() + DURATION_MILLIS * 1_000_000 + 50_000_000;
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            new Thread(() -> {
+                ready.countDown();
+                long ops = 0;
+                while (System.nanoTime() < stopAt) {
+                    for (int i = 0; i < 1_000; i++) {
+                        counter.increment();
+                    }
+                    ops += 1_000;
+                }
+                perThread[index] = ops;
+                done.countDown();
+            }).start();
+        }
+        ready.await();
+        done.await();
+        long expected = 0;
+        for (long ops : perThread) {
+            expected += ops;
+        }
+        long actual = counter instanceof ShardedCounter ? ((ShardedCounter) counter).sum() : counter.get();
+        if (counter instanceof ShardedCounter) {
+            ((ShardedCounter) counter).close();
+        }
+        System.out.printf("threads=%-3d %-13s %,15.0f ops/sec %s%n", threads, label,
+                expected / (DURATION_MILLIS / 1e3), actual == expected ? "exact" : "LOST " + (expected - actual));
+    }
+
+    private static class SynchronizedCounter implements Counter {
+        private long count;
+
+        @Override
+        public synchronized void increment() {
+            count++;
+        }
+
+        @Override
+        public synchronized void add(long delta) {
+            count += delta;
+        }
+
+        @Override
+        public synchronized long get() {
+            return count;
+        }
+
+        @Override
+        public boolean isExact() {
+            return true;
+        }
+    }
+}
@@ -2,21 +2,38 @@ package code.cargocultprogramming;
 
 public class CounterExample {
     public static void main(String[] args) {
-        Counter counter = new Counter();
+        Counter counter = new SimpleCounter();
         counter.increment();
         System.out.println("Count: " + counter.getCount());
+
+        Counter shared = new StripedCounter();
+        shared.increment();
+        System.out.println("Shared count: " + shared.get());
     }
 }
 
-class Counter {
-    private int count = 0;
+class SimpleCounter implements Counter {
+    private long count = 0;
 
     // Correct solution: Removed unnecessary synchronization
+    // Only safe while a single thread owns the counter
+    @Override
     public void increment() {
         count++;
     }
 
-    public int getCount() {
+    @Override
+    public void add(long delta) {
+        count += delta;
+    }
+
+    @Override
+    public long get() {
         return count;
     }
+
+    @Override
+    public boolean isExact() {
+        return true;
+    }
 }
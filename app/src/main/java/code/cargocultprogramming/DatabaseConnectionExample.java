@@ -2,16 +2,41 @@ package code.cargocultprogramming;
 
 @SuppressWarnings("unused")
 public class DatabaseConnectionExample {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         DatabaseConnection dbConnection1 = new DatabaseConnection();
         DatabaseConnection dbConnection2 = new DatabaseConnection();
         System.out.println("Two database connections created successfully.");
+
+        try (ConnectionPool pool = new ConnectionPool(DatabaseConnection::new, 1, 4, 30_000, 10_000)) {
+            for (int i = 0; i < 3; i++) {
+                try (PooledConnection connection = pool.borrow(1_000)) {
+                    System.out.println("Borrowed connection, valid: " + connection.get().isValid());
+                }
+            }
+            System.out.println(pool.stats());
+        }
     }
 }
 
 class DatabaseConnection {
+    private volatile boolean closed;
+
     public DatabaseConnection() {
+        this(true);
+    }
+
+    DatabaseConnection(boolean announce) {
         // Initialization logic
-        System.out.println("DatabaseConnection initialized.");
+        if (announce) {
+            System.out.println("DatabaseConnection initialized.");
+        }
     }
-}
\ No newline at end of file
+
+    public boolean isValid() {
+        return !closed;
+    }
+
+    public void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,28 @@
+package code.cargocultprogramming;
+
+import java.util.concurrent.TimeUnit;
+
+// Absolute point in time shared by every attempt of one call, so retries cannot extend the caller's budget
+public final class Deadline {
+    private final long expiresAt;
+
+    private Deadline(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public static Deadline after(long timeout, TimeUnit unit) {
+        return new Deadline(System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    public long remainingNanos() {
+        return Math.max(0, expiresAt - System.nanoTime());
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(remainingNanos());
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() == 0;
+    }
+}
@@ -0,0 +1,84 @@
+package code.cargocultprogramming;
+
+import code.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class EndpointStats {
+    private final String endpoint;
+    private final CircuitBreaker breaker;
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    EndpointStats(String endpoint, CircuitBreaker breaker) {
+        this.endpoint = endpoint;
+        this.breaker = breaker;
+    }
+
+    void recordSuccess(long nanos) {
+        successes.increment();
+        latency.record(nanos);
+    }
+
+    void recordFailure(long nanos) {
+        failures.increment();
+        latency.record(nanos);
+    }
+
+    void recordRetry() {
+        retries.increment();
+    }
+
+    void recordHedge() {
+        hedges.increment();
+    }
+
+    void recordRejected() {
+        rejected.increment();
+    }
+
+    CircuitBreaker breaker() {
+        return breaker;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getSuccesses() {
+        return successes.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getHedges() {
+        return hedges.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    // Whole-call latency including retries and backoff
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: breaker=%s successes=%d failures=%d retries=%d hedges=%d rejected=%d "
+                        + "p50=%dus p99=%dus max=%dus",
+                endpoint, breaker.getState(), getSuccesses(), getFailures(), getRetries(), getHedges(), getRejected(),
+                latency.getPercentile(50) / 1_000, latency.getPercentile(99) / 1_000, latency.getMax() / 1_000);
+    }
+}
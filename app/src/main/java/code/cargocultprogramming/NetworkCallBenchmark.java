@@ -0,0 +1,62 @@
+package code.cargocultprogramming;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Calls a local stand-in service with injected latency spikes and errors, with hedging off and on
+public class NetworkCallBenchmark {
+    private static final int CALLS = 3_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        NetworkConfig config = new NetworkConfig(1_000, 2);
+        FlakyService service = new FlakyService(2, 0.03, 150, 0.02);
+        for (int round = 0; round < 2; round++) {
+            run(new NetworkCallExecutor(config), "hedging off", service);
+            run(new NetworkCallExecutor(config, 10), "hedging on (10ms)", service);
+        }
+    }
+
+    private static void run(NetworkCallExecutor executor, String label, FlakyService service)
+            throws InterruptedException {
+        int failed = 0;
+        try (executor) {
+            for (int i = 0; i < CALLS; i++) {
+                try {
+                    executor.call("inventory", service::handle);
+                } catch (Exception e) {
+                    if (e instanceof InterruptedException) {
+                        throw (InterruptedException) e;
+                    }
+                    failed++;
+                }
+            }
+            System.out.printf("%-18s failed=%d %s%n", label, failed, executor.stats("inventory"));
+        }
+    }
+
+    // Usually answers in baseMillis; sometimes stalls for slowMillis or fails outright
+    private static class FlakyService {
+        private final long baseMillis;
+        private final double slowRate;
+        private final long slowMillis;
+        private final double errorRate;
+
+        FlakyService(long baseMillis, double slowRate, long slowMillis, double errorRate) {
+            this.baseMillis = baseMillis;
+            this.slowRate = slowRate;
+            this.slowMillis = slowMillis;
+            this.errorRate = errorRate;
+        }
+
+        String handle(Deadline deadline) throws IOException, InterruptedException {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long latency = random.nextDouble() < slowRate ? slowMillis : baseMillis;
+            TimeUnit.MILLISECONDS.sleep(Math.min(latency, deadline.remainingMillis()));
+            if (random.nextDouble() < errorRate) {
+                throw new IOException("Injected failure");
+            }
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package code.cargocultprogramming;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Runs remote calls under NetworkConfig: the timeout is one deadline for the whole call, and up to
+// `retries` further attempts are made with jittered exponential backoff inside that deadline.
+public class NetworkCallExecutor implements AutoCloseable {
+    private static final long BASE_BACKOFF_MILLIS = 10;
+    private static final long MAX_BACKOFF_MILLIS = 1_000;
+    private static final int BREAKER_FAILURE_THRESHOLD = 5;
+    private static final long BREAKER_OPEN_MILLIS = 2_000;
+
+    private final NetworkConfig config;
+    private final long hedgeDelayNanos;
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final ExecutorService attempts = Executors.newVirtualThreadPerTaskExecutor();
+
+    public NetworkCallExecutor(NetworkConfig config) {
+        this(config, 0);
+    }
+
+    // A hedge delay above zero sends a second copy of an attempt that has not answered within that delay
+    public NetworkCallExecutor(NetworkConfig config, long hedgeDelayMillis) {
+        this.config = config;
+        this.hedgeDelayNanos = TimeUnit.MILLISECONDS.toNanos(hedgeDelayMillis);
+    }
+
+    public <T> T call(String endpoint, RemoteCall<T> call)
+            throws ExecutionException, TimeoutException, InterruptedException {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint,
+                e -> new EndpointStats(e, new CircuitBreaker(BREAKER_FAILURE_THRESHOLD, BREAKER_OPEN_MILLIS)));
+        Deadline deadline = Deadline.after(config.getTimeout(), TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        Exception last = null;
+        for (int attempt = 0; attempt <= config.getRetries() && !deadline.isExpired(); attempt++) {
+            if (attempt > 0) {
+                stats.recordRetry();
+                sleepBackoff(attempt, deadline);
+            }
+            if (!stats.breaker().tryAcquire()) {
+                stats.recordRejected();
+                throw new CircuitOpenException(endpoint);
+            }
+            try {
+                T result = attempt(call, deadline, stats);
+                stats.breaker().onSuccess();
+                stats.recordSuccess(System.nanoTime() - start);
+                return result;
+            } catch (ExecutionException | TimeoutException e) {
+                stats.breaker().onFailure();
+                last = e;
+            } catch (InterruptedException | RuntimeException e) {
+                // Anything else still has to settle the breaker, or a half-open trial would never end
+                stats.breaker().onFailure();
+                stats.recordFailure(System.nanoTime() - start);
+                throw e;
+            }
+        }
+        stats.recordFailure(System.nanoTime() - start);
+        if (last instanceof ExecutionException) {
+            throw (ExecutionException) last;
+        }
+        throw new TimeoutException("Call to " + endpoint + " did not complete within " + config.getTimeout() + "ms");
+    }
+
+    private <T> T attempt(RemoteCall<T> call, Deadline deadline, EndpointStats stats)
+            throws ExecutionException, TimeoutException, InterruptedException {
+        CompletionService<T> completion = new ExecutorCompletionService<>(attempts);
+        List<Future<T>> inFlight = new ArrayList<>(2);
+        try {
+            inFlight.add(completion.submit(() -> call.call(deadline)));
+            if (hedgeDelayNanos > 0) {
+                Future<T> first = completion.poll(Math.min(hedgeDelayNanos, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    return first.get();
+                }
+                if (deadline.isExpired()) {
+                    throw new TimeoutException("Deadline expired");
+                }
+                stats.recordHedge();
+                inFlight.add(completion.submit(() -> call.call(deadline)));
+            }
+            ExecutionException failure = null;
+            for (int pending = inFlight.size(); pending > 0; pending--) {
+                Future<T> done = completion.poll(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    throw new TimeoutException("Deadline expired");
+                }
+                try {
+                    return done.get();
+                } catch (ExecutionException e) {
+                    failure = e;
+                }
+            }
+            throw failure;
+        } finally {
+            cancelAll(inFlight);
+        }
+    }
+
+    private static void cancelAll(Collection<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    // Full jitter: a uniform wait between zero and the exponential cap, never past the deadline
+    private static void sleepBackoff(int attempt, Deadline deadline) throws InterruptedException {
+        long cap = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(attempt - 1, 20));
+        long wait = ThreadLocalRandom.current().nextLong(cap + 1);
+        Thread.sleep(Math.min(wait, deadline.remainingMillis()));
+    }
+
+    public EndpointStats stats(String endpoint) {
+        return endpoints.get(endpoint);
+    }
+
+    public Collection<EndpointStats> allStats() {
+        return endpoints.values();
+    }
+
+    @Override
+    public void close() {
+        attempts.shutdownNow();
+    }
+}
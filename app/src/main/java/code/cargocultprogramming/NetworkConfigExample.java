@@ -1,10 +1,16 @@
 package code.cargocultprogramming;
 
 public class NetworkConfigExample {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
         NetworkConfig config = new NetworkConfig(5000, 2);
         System.out.println("Timeout: " + config.getTimeout());
         System.out.println("Retries: " + config.getRetries());
+
+        try (NetworkCallExecutor executor = new NetworkCallExecutor(config)) {
+            String response = executor.call("status", deadline -> "OK, " + deadline.remainingMillis() + "ms to spare");
+            System.out.println("Response: " + response);
+            System.out.println(executor.stats("status"));
+        }
     }
 }
 
@@ -1,10 +1,18 @@
 package code.cargocultprogramming;
 
+import code.execution.RequestExecutor;
+
+import java.util.concurrent.Future;
+
 public class OrderServiceExample {
     public static void main(String[] args) {
         PaymentService paymentService = new PaymentService();
         OrderService orderService = new OrderService(paymentService);
         orderService.processOrder();
+
+        try (RequestExecutor executor = RequestExecutor.virtual()) {
+            orderService.processOrderAsync(executor);
+        }
     }
 }
 
@@ -25,4 +33,8 @@ class OrderService {
         System.out.println("Processing order...");
         paymentService.processPayment();
     }
+
+    public Future<?> processOrderAsync(RequestExecutor executor) {
+        return executor.submit(this::processOrder);
+    }
 }
@@ -0,0 +1,23 @@
+package code.cargocultprogramming;
+
+// A connection owned by the pool; each borrow hands it out through a fresh PooledConnection lease
+class PoolEntry {
+    private final DatabaseConnection connection;
+    private volatile long lastUsedAt = System.nanoTime();
+
+    PoolEntry(DatabaseConnection connection) {
+        this.connection = connection;
+    }
+
+    DatabaseConnection connection() {
+        return connection;
+    }
+
+    long getLastUsedAt() {
+        return lastUsedAt;
+    }
+
+    void touch() {
+        lastUsedAt = System.nanoTime();
+    }
+}
@@ -0,0 +1,68 @@
+package code.cargocultprogramming;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Lease for one borrow; closing it returns the connection to its pool. A lease is never reused, so
+// closing a stale one cannot release a connection someone else has borrowed since.
+public class PooledConnection implements AutoCloseable {
+    private static final VarHandle RETURNED;
+
+    static {
+        try {
+            RETURNED = MethodHandles.lookup().findVarHandle(PooledConnection.class, "returned", boolean.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ConnectionPool pool;
+    private final PoolEntry entry;
+    private final long borrowedAt = System.nanoTime();
+    private final Throwable borrowSite;
+    private volatile boolean returned;
+    private volatile boolean leakReported;
+
+    PooledConnection(ConnectionPool pool, PoolEntry entry, boolean trackSite) {
+        this.pool = pool;
+        this.entry = entry;
+        this.borrowSite = trackSite ? new Throwable("Connection borrowed here") : null;
+    }
+
+    public DatabaseConnection get() {
+        if (returned) {
+            throw new IllegalStateException("Connection has been returned to the pool");
+        }
+        return entry.connection();
+    }
+
+    @Override
+    public void close() {
+        pool.release(this);
+    }
+
+    PoolEntry entry() {
+        return entry;
+    }
+
+    // Only the first caller wins, so concurrent closes return the connection once
+    boolean markReturned() {
+        return RETURNED.compareAndSet(this, false, true);
+    }
+
+    long getBorrowedAt() {
+        return borrowedAt;
+    }
+
+    Throwable getBorrowSite() {
+        return borrowSite;
+    }
+
+    boolean isLeakReported() {
+        return leakReported;
+    }
+
+    void setLeakReported() {
+        leakReported = true;
+    }
+}
@@ -0,0 +1,7 @@
+package code.cargocultprogramming;
+
+@FunctionalInterface
+public interface RemoteCall<T> {
+    // Implementations should pass the deadline on to any downstream call they make
+    T call(Deadline deadline) throws Exception;
+}
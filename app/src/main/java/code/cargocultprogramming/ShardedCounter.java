@@ -0,0 +1,117 @@
+package code.cargocultprogramming;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Each thread owns a cell it updates without read-modify-write atomics. get() returns a total
+// aggregated in the background, which may be up to one interval stale; sum() scans the cells directly.
+// Cells of threads that have exited are folded into a base value and dropped at each aggregation, so
+// thread churn (or one virtual thread per request) does not grow the cell list.
+public final class ShardedCounter implements Counter, AutoCloseable {
+    private final Queue<Cell> cells = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Cell> local;
+    private final ScheduledExecutorService aggregator;
+    // Guarded by this, so sum() never sees a cell both in the list and in the base
+    private long retired;
+    private volatile long aggregate;
+
+    public ShardedCounter(long aggregationIntervalMillis) {
+        Queue<Cell> registry = cells;
+        local = ThreadLocal.withInitial(() -> register(registry));
+        aggregator = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "sharded-counter-aggregator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        aggregator.scheduleAtFixedRate(this::aggregate,
+                aggregationIntervalMillis, aggregationIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static Cell register(Queue<Cell> registry) {
+        Cell cell = new Cell(Thread.currentThread());
+        registry.add(cell);
+        return cell;
+    }
+
+    private synchronized void aggregate() {
+        for (Iterator<Cell> it = cells.iterator(); it.hasNext(); ) {
+            Cell cell = it.next();
+            // A thread that has terminated can no longer write, so its final value is safe to read
+            if (cell.isOrphaned()) {
+                retired += cell.value;
+                it.remove();
+            }
+        }
+        aggregate = sum();
+    }
+
+    @Override
+    public void increment() {
+        add(1);
+    }
+
+    @Override
+    public void add(long delta) {
+        Cell cell = local.get();
+        Cell.VALUE.setRelease(cell, (long) Cell.VALUE.getOpaque(cell) + delta);
+    }
+
+    @Override
+    public long get() {
+        return aggregate;
+    }
+
+    public synchronized long sum() {
+        long sum = retired;
+        for (Cell cell : cells) {
+            sum += cell.value;
+        }
+        return sum;
+    }
+
+    @Override
+    public boolean isExact() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        aggregator.shutdown();
+        aggregate();
+    }
+
+    // Padding keeps two threads' cells off the same cache line
+    @SuppressWarnings("unused")
+    private static class Cell {
+        static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(Cell.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private final WeakReference<Thread> owner;
+        private long p1, p2, p3, p4, p5, p6, p7;
+        private volatile long value;
+        private long q1, q2, q3, q4, q5, q6, q7;
+
+        Cell(Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+
+        boolean isOrphaned() {
+            Thread thread = owner.get();
+            return thread == null || !thread.isAlive();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package code.cargocultprogramming;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Spreads writers over cells that sit on separate cache lines. A read sums the cells, so it is exact
+// once writers are quiet but is not an atomic snapshot while they are running.
+public class StripedCounter implements Counter {
+    private static final VarHandle CELLS = MethodHandles.arrayElementVarHandle(long[].class);
+    // 128 bytes between cells also keeps adjacent-line prefetching from pairing them
+    private static final int STRIDE = 16;
+
+    private final long[] cells;
+    private final int mask;
+
+    public StripedCounter() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public StripedCounter(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.mask = size - 1;
+        this.cells = new long[(size + 1) * STRIDE];
+    }
+
+    @Override
+    public void increment() {
+        add(1);
+    }
+
+    @Override
+    public void add(long delta) {
+        CELLS.getAndAdd(cells, indexFor(Thread.currentThread()), delta);
+    }
+
+    @Override
+    public long get() {
+        long sum = 0;
+        for (int i = 0; i <= mask; i++) {
+            sum += (long) CELLS.getVolatile(cells, (i + 1) * STRIDE);
+        }
+        return sum;
+    }
+
+    @Override
+    public boolean isExact() {
+        return false;
+    }
+
+    private int indexFor(Thread thread) {
+        long h = thread.threadId() * 0x9E3779B97F4A7C15L;
+        return ((int) (h >>> 32) & mask) * STRIDE + STRIDE;
+    }
+}
@@ -1,26 +1,84 @@
 package code.dataclass;
 
+import code.primitiveobsession.productmoney.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
 public class Invoice {
-    private double amount;
+    private static final Currency CURRENCY = Currency.getInstance("USD");
+
+    // Exact cents, so tax does not pick up floating-point error; negative for credit notes and refunds
+    private long amountCents;
     private String customer;
     private boolean paid;
 
     public Invoice(double amount, String customer) {
-        this.amount = amount;
+        this(toCents(amount), customer);
+    }
+
+    public Invoice(Money amount, String customer) {
+        this(centsOf(amount), customer);
+    }
+
+    private Invoice(long amountCents, String customer) {
+        this.amountCents = amountCents;
         this.customer = customer;
         this.paid = false;
     }
 
-    public double getAmount() { return amount; }
+    // Exact input, including negative amounts for credit notes
+    public static Invoice ofCents(long amountCents, String customer) {
+        return new Invoice(amountCents, customer);
+    }
+
+    // A double rarely holds a whole number of cents (0.1 + 0.2 is 0.30000000000000004), so it is rounded
+    // half-even to the nearest cent
+    private static long toCents(double amount) {
+        if (!Double.isFinite(amount)) {
+            throw new IllegalArgumentException("Amount must be finite: " + amount);
+        }
+        try {
+            return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(amount + " is out of range", e);
+        }
+    }
+
+    private static long centsOf(Money amount) {
+        if (!amount.getCurrency().equals(CURRENCY)) {
+            throw new IllegalArgumentException("Invoices are in " + CURRENCY + ", not " + amount.getCurrency());
+        }
+        return amount.getMinorUnits();
+    }
+
+    public double getAmount() { return BigDecimal.valueOf(amountCents, 2).doubleValue(); }
+    public long getAmountCents() { return amountCents; }
     public String getCustomer() { return customer; }
     public boolean isPaid() { return paid; }
 
+    // Money is non-negative, so a credit note has no Money form; use getAmountCents for those
+    public Money getAmountAsMoney() {
+        if (amountCents < 0) {
+            throw new IllegalStateException("Credit note amounts cannot be expressed as Money");
+        }
+        return Money.ofMinor(amountCents, CURRENCY);
+    }
+
     public void markAsPaid() {
         this.paid = true;
     }
 
     public double calculateTax(double taxRate) {
-        return amount * taxRate / 100;
+        return calculateTax(BigDecimal.valueOf(taxRate)).doubleValue();
+    }
+
+    // Rounded half away from zero to the cent, so a credit note's tax mirrors the invoice it reverses
+    public BigDecimal calculateTax(BigDecimal taxRate) {
+        BigDecimal tax = Money.ofMinor(Math.absExact(amountCents), CURRENCY).percent(taxRate, RoundingMode.HALF_UP)
+                .getAmount();
+        return amountCents < 0 ? tax.negate() : tax;
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,102 @@
+package code.dataclass;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+// Generates an invoice file, then compares a line-by-line Invoice/double pass with the streaming processor
+// at several parallelism levels, checking the exact results match.
+// Run with: java code.dataclass.InvoiceProcessingBenchmark [invoices] [customers]
+public class InvoiceProcessingBenchmark {
+    private static final int TAX_RATE_BASIS_POINTS = 500;
+    private static final long CHUNK_BYTES = 4 * 1024 * 1024;
+
+    public static void main(String[] args) throws IOException {
+        int invoices = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int customers = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        Path file = Files.createTempFile("invoices", ".csv");
+        try {
+            generate(file, invoices, customers);
+            System.out.printf("%,d invoices, %,d customers, %,d bytes%n", invoices, customers, Files.size(file));
+
+            for (int round = 0; round < 2; round++) {
+                // First round warms up the JIT
+                boolean report = round == 1;
+                long start = System.nanoTime();
+                double[] doubles = sequentialDoubles(file);
+                long doubleNanos = System.nanoTime() - start;
+                if (report) {
+                    System.out.printf("%-22s %8.0f ms  amount=%.2f tax=%.2f%n", "sequential Invoice",
+                            doubleNanos / 1e6, doubles[0], doubles[1]);
+                }
+
+                InvoiceSummary reference = null;
+                int cores = Runtime.getRuntime().availableProcessors();
+                for (int parallelism : new int[] {1, Math.max(2, cores), Math.max(4, cores * 2)}) {
+                    ForkJoinPool pool = new ForkJoinPool(parallelism);
+                    try {
+                        StreamingInvoiceProcessor processor =
+                                new StreamingInvoiceProcessor(TAX_RATE_BASIS_POINTS, CHUNK_BYTES, pool);
+                        start = System.nanoTime();
+                        InvoiceSummary summary = processor.process(file);
+                        long nanos = System.nanoTime() - start;
+                        if (reference == null) {
+                            reference = summary;
+                        } else if (!reference.equals(summary)) {
+                            throw new IllegalStateException("Parallelism " + parallelism + " changed the result");
+                        }
+                        if (report) {
+                            System.out.printf("%-22s %8.0f ms  %s%n", "streaming x" + parallelism,
+                                    nanos / 1e6, summary);
+                        }
+                    } finally {
+                        pool.shutdown();
+                    }
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void generate(Path file, int invoices, int customers) throws IOException {
+        SplittableRandom random = new SplittableRandom(7);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < invoices; i++) {
+                long cents = random.nextLong(1, 5_000_000);
+                writer.write("Customer " + random.nextInt(customers));
+                writer.write(',');
+                writer.write(InvoiceTotals.format(cents));
+                writer.write(random.nextInt(3) == 0 ? ",false\n" : ",true\n");
+            }
+        }
+    }
+
+    // The straightforward version: one Invoice object per line, split Strings, boxed per-customer map
+    private static double[] sequentialDoubles(Path file) throws IOException {
+        double amount = 0;
+        double tax = 0;
+        Map<String, Double> byCustomer = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                Invoice invoice = new Invoice(Double.parseDouble(fields[1]), fields[0]);
+                if (Boolean.parseBoolean(fields[2])) {
+                    invoice.markAsPaid();
+                }
+                amount += invoice.getAmount();
+                tax += invoice.calculateTax(TAX_RATE_BASIS_POINTS / 100.0);
+                byCustomer.merge(invoice.getCustomer(), invoice.getAmount(), Double::sum);
+            }
+        }
+        return new double[] {amount, tax};
+    }
+}
@@ -0,0 +1,49 @@
+package code.dataclass;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+// Grand totals plus totals per customer, built up from independently processed file chunks
+public final class InvoiceSummary {
+    private final InvoiceTotals total = new InvoiceTotals();
+    private final Map<String, InvoiceTotals> byCustomer = new HashMap<>();
+
+    void add(String customer, long amountCents, long taxCents, boolean paid) {
+        total.add(amountCents, taxCents, paid);
+        byCustomer.computeIfAbsent(customer, c -> new InvoiceTotals()).add(amountCents, taxCents, paid);
+    }
+
+    void merge(InvoiceSummary other) {
+        total.merge(other.total);
+        for (Map.Entry<String, InvoiceTotals> entry : other.byCustomer.entrySet()) {
+            byCustomer.computeIfAbsent(entry.getKey(), c -> new InvoiceTotals()).merge(entry.getValue());
+        }
+    }
+
+    public InvoiceTotals getTotal() {
+        return total;
+    }
+
+    // Sorted by customer so reports come out in the same order on every run
+    public SortedMap<String, InvoiceTotals> getByCustomer() {
+        return Collections.unmodifiableSortedMap(new TreeMap<>(byCustomer));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof InvoiceSummary other && total.equals(other.total) && byCustomer.equals(other.byCustomer);
+    }
+
+    @Override
+    public int hashCode() {
+        return total.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return total + " customers=" + byCustomer.size();
+    }
+}
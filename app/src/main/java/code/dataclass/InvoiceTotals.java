@@ -0,0 +1,59 @@
+package code.dataclass;
+
+// Exact running totals in cents. Merging is plain integer addition, so the result is the same
+// whatever order or grouping the partial totals are combined in.
+public final class InvoiceTotals {
+    private long count;
+    private long amountCents;
+    private long taxCents;
+    private long paidCents;
+    private long unpaidCents;
+
+    void add(long amount, long tax, boolean paid) {
+        count++;
+        amountCents = Math.addExact(amountCents, amount);
+        taxCents = Math.addExact(taxCents, tax);
+        if (paid) {
+            paidCents = Math.addExact(paidCents, amount);
+        } else {
+            unpaidCents = Math.addExact(unpaidCents, amount);
+        }
+    }
+
+    void merge(InvoiceTotals other) {
+        count += other.count;
+        amountCents = Math.addExact(amountCents, other.amountCents);
+        taxCents = Math.addExact(taxCents, other.taxCents);
+        paidCents = Math.addExact(paidCents, other.paidCents);
+        unpaidCents = Math.addExact(unpaidCents, other.unpaidCents);
+    }
+
+    public long getCount() { return count; }
+    public long getAmountCents() { return amountCents; }
+    public long getTaxCents() { return taxCents; }
+    public long getPaidCents() { return paidCents; }
+    public long getUnpaidCents() { return unpaidCents; }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof InvoiceTotals other && count == other.count && amountCents == other.amountCents
+                && taxCents == other.taxCents && paidCents == other.paidCents && unpaidCents == other.unpaidCents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(count) * 31 + Long.hashCode(amountCents) * 17 + Long.hashCode(taxCents);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("invoices=%d amount=%s tax=%s paid=%s unpaid=%s", count,
+                format(amountCents), format(taxCents), format(paidCents), format(unpaidCents));
+    }
+
+    static String format(long cents) {
+        String sign = cents < 0 ? "-" : "";
+        long abs = Math.abs(cents);
+        return String.format("%s%d.%02d", sign, abs / 100, abs % 100);
+    }
+}
@@ -0,0 +1,100 @@
+package code.dataclass;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Applies the same raise policy with Employee.giveRaise per object and with the struct-of-arrays roster,
+// checks the salaries match exactly, and shows how many salary chunks a what-if scenario shares.
+// Run with: java code.dataclass.PayrollBenchmark [employees]
+public class PayrollBenchmark {
+    private static final String[] DEPARTMENTS = {"Engineering", "Sales", "Support", "Finance", "Legal", "Marketing"};
+    private static final int BANDS = 6;
+    private static final List<RaiseRule> POLICY = List.of(
+            RaiseRule.everyone(2.0),
+            RaiseRule.department("Engineering", 3.5),
+            RaiseRule.band(5, 1.25),
+            new RaiseRule("Sales", 2, 4.0));
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        for (int round = 0; round < 3; round++) {
+            // Rows are grouped by department, as an HR export usually is
+            List<StaffRecord> staff = generate(count);
+            PayrollRoster base = roster(staff);
+
+            long start = System.nanoTime();
+            for (RaiseRule rule : POLICY) {
+                for (StaffRecord record : staff) {
+                    if (rule.matches(record.department, record.band)) {
+                        record.employee.giveRaise(rule.getPercentage());
+                    }
+                }
+            }
+            long perObjectNanos = System.nanoTime() - start;
+
+            PayrollEngine engine = new PayrollEngine(base);
+            start = System.nanoTime();
+            PayrollRoster raised = engine.apply(POLICY);
+            long rosterNanos = System.nanoTime() - start;
+
+            for (int i = 0; i < count; i++) {
+                if (raised.getSalary(i) != staff.get(i).employee.getSalary()) {
+                    throw new IllegalStateException("Salary mismatch at row " + i);
+                }
+            }
+
+            start = System.nanoTime();
+            PayrollRoster scenario = engine.simulate(List.of(RaiseRule.department("Legal", 10.0)));
+            long scenarioNanos = System.nanoTime() - start;
+
+            if (round == 2) {
+                System.out.printf("%,d employees, %d rules%n", count, POLICY.size());
+                System.out.printf("%-28s %8.2f ms%n", "per-object giveRaise", perObjectNanos / 1e6);
+                System.out.printf("%-28s %8.2f ms%n", "struct-of-arrays roster", rosterNanos / 1e6);
+                System.out.printf("%-28s %8.2f ms, %d of %d chunks shared, payroll %.2f -> %.2f%n",
+                        "what-if: Legal +10%", scenarioNanos / 1e6, scenario.sharedChunks(raised),
+                        scenario.chunkCount(), raised.totalPayroll(), scenario.totalPayroll());
+            }
+        }
+    }
+
+    // Loads the roster from copies, so the per-object loop cannot affect it
+    private static PayrollRoster roster(List<StaffRecord> staff) {
+        Map<Employee, StaffRecord> records = new IdentityHashMap<>();
+        List<Employee> employees = new ArrayList<>(staff.size());
+        for (StaffRecord record : staff) {
+            Employee copy = new Employee(record.employee.getName(), record.employee.getSalary());
+            records.put(copy, record);
+            employees.add(copy);
+        }
+        return PayrollRoster.of(employees, e -> records.get(e).department, e -> records.get(e).band);
+    }
+
+    private static List<StaffRecord> generate(int count) {
+        SplittableRandom random = new SplittableRandom(11);
+        List<StaffRecord> staff = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String department = DEPARTMENTS[(int) ((long) i * DEPARTMENTS.length / count)];
+            double salary = 30_000 + random.nextInt(150_000);
+            staff.add(new StaffRecord(new Employee("Employee " + i, salary), department, random.nextInt(BANDS)));
+        }
+        return staff;
+    }
+
+    // The per-object baseline: the employee plus the attributes the raise rules look at
+    private static final class StaffRecord {
+        final Employee employee;
+        final String department;
+        final int band;
+
+        StaffRecord(Employee employee, String department, int band) {
+            this.employee = employee;
+            this.department = department;
+            this.band = band;
+        }
+    }
+}
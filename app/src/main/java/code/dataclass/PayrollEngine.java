@@ -0,0 +1,28 @@
+package code.dataclass;
+
+import java.util.List;
+
+// Holds the live roster. Simulations run raise rules against it without publishing anything;
+// apply() publishes the raised roster atomically. Applies are serialized so each raise is computed
+// once against the roster it replaces; readers never wait.
+public class PayrollEngine {
+    private volatile PayrollRoster roster;
+
+    public PayrollEngine(PayrollRoster roster) {
+        this.roster = roster;
+    }
+
+    public PayrollRoster current() {
+        return roster;
+    }
+
+    public PayrollRoster simulate(List<RaiseRule> rules) {
+        return roster.applyRaises(rules);
+    }
+
+    public synchronized PayrollRoster apply(List<RaiseRule> rules) {
+        PayrollRoster raised = roster.applyRaises(rules);
+        roster = raised;
+        return raised;
+    }
+}
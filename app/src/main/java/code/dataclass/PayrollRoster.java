@@ -0,0 +1,168 @@
+package code.dataclass;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+// Immutable struct-of-arrays roster. Salaries live in fixed-size chunks; applying raises returns a new
+// roster that copies only the chunks containing an affected employee and shares everything else,
+// so what-if scenarios never clone the base roster.
+public final class PayrollRoster {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private final int size;
+    private final String[] names;
+    private final short[] departments;
+    private final byte[] bands;
+    private final String[] departmentNames;
+    private final Map<String, Short> departmentCodes;
+    private final double[][] salaries;
+
+    private PayrollRoster(int size, String[] names, short[] departments, byte[] bands,
+                          String[] departmentNames, Map<String, Short> departmentCodes, double[][] salaries) {
+        this.size = size;
+        this.names = names;
+        this.departments = departments;
+        this.bands = bands;
+        this.departmentNames = departmentNames;
+        this.departmentCodes = departmentCodes;
+        this.salaries = salaries;
+    }
+
+    public static PayrollRoster of(List<Employee> employees, Function<Employee, String> department,
+                                   ToIntFunction<Employee> band) {
+        int size = employees.size();
+        String[] names = new String[size];
+        short[] departments = new short[size];
+        byte[] bands = new byte[size];
+        Map<String, Short> codes = new HashMap<>();
+        double[][] salaries = new double[(size + CHUNK_SIZE - 1) >>> CHUNK_BITS][];
+        for (int chunk = 0; chunk < salaries.length; chunk++) {
+            salaries[chunk] = new double[Math.min(CHUNK_SIZE, size - (chunk << CHUNK_BITS))];
+        }
+        for (int i = 0; i < size; i++) {
+            Employee employee = employees.get(i);
+            int employeeBand = band.applyAsInt(employee);
+            if (employeeBand < 0 || employeeBand > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Band must be between 0 and " + Byte.MAX_VALUE);
+            }
+            String departmentName = department.apply(employee);
+            if (departmentName == null) {
+                throw new IllegalArgumentException("Employee " + employee.getName() + " has no department");
+            }
+            if (!codes.containsKey(departmentName) && codes.size() > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many departments");
+            }
+            names[i] = employee.getName();
+            departments[i] = codes.computeIfAbsent(departmentName, d -> (short) codes.size());
+            bands[i] = (byte) employeeBand;
+            salaries[i >>> CHUNK_BITS][i & (CHUNK_SIZE - 1)] = employee.getSalary();
+        }
+        String[] departmentNames = new String[codes.size()];
+        codes.forEach((name, code) -> departmentNames[code] = name);
+        return new PayrollRoster(size, names, departments, bands, departmentNames, Map.copyOf(codes), salaries);
+    }
+
+    public int size() { return size; }
+    public String getName(int index) { return names[checkIndex(index)]; }
+    public String getDepartment(int index) { return departmentNames[departments[checkIndex(index)]]; }
+    public int getBand(int index) { return bands[checkIndex(index)]; }
+
+    public double getSalary(int index) {
+        checkIndex(index);
+        return salaries[index >>> CHUNK_BITS][index & (CHUNK_SIZE - 1)];
+    }
+
+    public Employee toEmployee(int index) {
+        return new Employee(getName(index), getSalary(index));
+    }
+
+    public double totalPayroll() {
+        double total = 0;
+        for (double[] chunk : salaries) {
+            for (double salary : chunk) {
+                total += salary;
+            }
+        }
+        return total;
+    }
+
+    // Rules apply in order and compound, exactly as successive Employee.giveRaise calls would.
+    // Chunks are processed in parallel; this roster is left unchanged.
+    public PayrollRoster applyRaises(List<RaiseRule> rules) {
+        short[] ruleDepartments = new short[rules.size()];
+        byte[] ruleBands = new byte[rules.size()];
+        double[] percentages = new double[rules.size()];
+        for (int r = 0; r < rules.size(); r++) {
+            RaiseRule rule = rules.get(r);
+            // -1 matches any department, -2 a department this roster does not have
+            ruleDepartments[r] = rule.getDepartment() == null
+                    ? -1 : departmentCodes.getOrDefault(rule.getDepartment(), (short) -2);
+            ruleBands[r] = (byte) rule.getBand();
+            percentages[r] = rule.getPercentage();
+        }
+        double[][] raised = salaries.clone();
+        IntStream.range(0, salaries.length).parallel().forEach(chunk -> {
+            int offset = chunk << CHUNK_BITS;
+            double[] target = null;
+            for (int r = 0; r < percentages.length; r++) {
+                if (ruleDepartments[r] == -2 || percentages[r] == 0
+                        || !touches(offset, salaries[chunk].length, ruleDepartments[r], ruleBands[r])) {
+                    continue;
+                }
+                if (target == null) {
+                    target = salaries[chunk].clone();
+                    raised[chunk] = target;
+                }
+                applyRule(target, offset, ruleDepartments[r], ruleBands[r], percentages[r]);
+            }
+        });
+        return new PayrollRoster(size, names, departments, bands, departmentNames, departmentCodes, raised);
+    }
+
+    // Number of salary chunks this roster shares with another version of the same base roster
+    public int sharedChunks(PayrollRoster other) {
+        int shared = 0;
+        for (int chunk = 0; chunk < Math.min(salaries.length, other.salaries.length); chunk++) {
+            if (salaries[chunk] == other.salaries[chunk]) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+
+    public int chunkCount() {
+        return salaries.length;
+    }
+
+    private boolean touches(int offset, int length, short department, byte band) {
+        for (int i = 0; i < length; i++) {
+            if ((department == -1 || departments[offset + i] == department)
+                    && (band == -1 || bands[offset + i] == band)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Branch-free over the chunk: non-matching rows get a zero percentage, which leaves them unchanged
+    private void applyRule(double[] chunk, int offset, short department, byte band, double percentage) {
+        for (int i = 0; i < chunk.length; i++) {
+            boolean matches = (department == -1 || departments[offset + i] == department)
+                    && (band == -1 || bands[offset + i] == band);
+            double rate = matches ? percentage : 0.0;
+            chunk[i] += chunk[i] * rate / 100;
+        }
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range for size " + size);
+        }
+        return index;
+    }
+}
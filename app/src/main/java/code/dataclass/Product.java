@@ -1,22 +1,46 @@
 package code.dataclass;
 
+import code.primitiveobsession.productmoney.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
 public class Product {
     private String name;
-    private double price;
+    // Exact cents, so discounts do not pick up floating-point error
+    private Money price;
 
     public Product(String name, double price) {
+        this(name, toMoney(price));
+    }
+
+    public Product(String name, Money price) {
         this.name = name;
         this.price = price;
     }
 
+    // A double rarely holds a whole number of cents, so it is rounded half-even to the nearest cent;
+    // Money still rejects negative prices
+    private static Money toMoney(double price) {
+        if (!Double.isFinite(price)) {
+            throw new IllegalArgumentException("Price must be finite: " + price);
+        }
+        return new Money(BigDecimal.valueOf(price).setScale(2, RoundingMode.HALF_EVEN));
+    }
+
     public String getName() { return name; }
-    public double getPrice() { return price; }
+    public double getPrice() { return price.getAmount().doubleValue(); }
+    public Money getPriceAsMoney() { return price; }
 
     public double applyDiscount(double discountPercentage) {
-        if (discountPercentage < 0 || discountPercentage > 100) {
+        return discountedPrice(BigDecimal.valueOf(discountPercentage)).getAmount().doubleValue();
+    }
+
+    public Money discountedPrice(BigDecimal discountPercentage) {
+        if (discountPercentage.signum() < 0 || discountPercentage.compareTo(BigDecimal.valueOf(100)) > 0) {
             throw new IllegalArgumentException("Invalid discount percentage");
         }
-        return price - (price * discountPercentage / 100);
+        return price.minus(price.percent(discountPercentage, RoundingMode.HALF_EVEN));
     }
 
     public static void main(String[] args) {
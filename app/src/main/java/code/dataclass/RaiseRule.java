@@ -0,0 +1,43 @@
+package code.dataclass;
+
+// A percentage raise for employees matching a department and/or band; null or ANY_BAND matches everyone
+public final class RaiseRule {
+    public static final int ANY_BAND = -1;
+
+    private final String department;
+    private final int band;
+    private final double percentage;
+
+    public RaiseRule(String department, int band, double percentage) {
+        if (percentage < 0) {
+            throw new IllegalArgumentException("Raise percentage must be positive");
+        }
+        if (band < ANY_BAND || band > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Band must be between 0 and " + Byte.MAX_VALUE);
+        }
+        this.department = department;
+        this.band = band;
+        this.percentage = percentage;
+    }
+
+    public static RaiseRule everyone(double percentage) {
+        return new RaiseRule(null, ANY_BAND, percentage);
+    }
+
+    public static RaiseRule department(String department, double percentage) {
+        return new RaiseRule(department, ANY_BAND, percentage);
+    }
+
+    public static RaiseRule band(int band, double percentage) {
+        return new RaiseRule(null, band, percentage);
+    }
+
+    public String getDepartment() { return department; }
+    public int getBand() { return band; }
+    public double getPercentage() { return percentage; }
+
+    public boolean matches(String department, int band) {
+        return (this.department == null || this.department.equals(department))
+                && (this.band == ANY_BAND || this.band == band);
+    }
+}
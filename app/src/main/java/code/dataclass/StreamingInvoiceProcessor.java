@@ -0,0 +1,222 @@
+package code.dataclass;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Single pass over an invoice file of "customer,amount,paid" lines, e.g. "Acme Corp,200.00,false".
+// The file is split into byte ranges processed in parallel on a fork-join pool; each range is read in
+// fixed-size buffers, so memory depends on the number of customers, not the number of invoices.
+// Amounts and tax are exact cents, so the summary is identical for any parallelism.
+public class StreamingInvoiceProcessor {
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final int taxRateBasisPoints;
+    private final long chunkBytes;
+    private final ForkJoinPool pool;
+
+    public StreamingInvoiceProcessor(int taxRateBasisPoints, long chunkBytes, ForkJoinPool pool) {
+        if (taxRateBasisPoints < 0) {
+            throw new IllegalArgumentException("Tax rate cannot be negative");
+        }
+        // A range only decides which lines it owns; lines are read through the buffer whatever the range size
+        if (chunkBytes < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.taxRateBasisPoints = taxRateBasisPoints;
+        this.chunkBytes = chunkBytes;
+        this.pool = pool;
+    }
+
+    public InvoiceSummary process(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return pool.invoke(new ChunkTask(channel, 0, channel.size()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Tax in cents for an amount in cents, rounded half away from zero like Invoice.calculateTax at cent precision
+    public long taxCents(long amountCents) {
+        long scaled = Math.multiplyExact(amountCents, taxRateBasisPoints);
+        long tax = scaled / 10_000;
+        long remainder = Math.abs(scaled % 10_000);
+        return remainder >= 5_000 ? tax + Long.signum(scaled) : tax;
+    }
+
+    // Fork-join tasks are Serializable by inheritance but are never serialized here
+    private final class ChunkTask extends RecursiveTask<InvoiceSummary> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel channel;
+        private final long start;
+        private final long end;
+
+        ChunkTask(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected InvoiceSummary compute() {
+            if (end - start <= chunkBytes) {
+                try {
+                    return scan();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            long middle = start + (end - start) / 2;
+            ChunkTask left = new ChunkTask(channel, start, middle);
+            left.fork();
+            InvoiceSummary right = new ChunkTask(channel, middle, end).compute();
+            InvoiceSummary summary = left.join();
+            summary.merge(right);
+            return summary;
+        }
+
+        // Processes every line that starts inside [start, end); a range that starts mid-line skips to the next line
+        private InvoiceSummary scan() throws IOException {
+            InvoiceSummary summary = new InvoiceSummary();
+            byte[] bytes = new byte[BUFFER_BYTES];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            long bufferStart = start > 0 ? start - 1 : 0;
+            boolean skipping = start > 0;
+            int filled = 0;
+            while (true) {
+                buffer.limit(bytes.length).position(filled);
+                int read = channel.read(buffer, bufferStart + filled);
+                boolean eof = read < 0;
+                if (read > 0) {
+                    filled += read;
+                }
+                int lineStart = 0;
+                if (skipping) {
+                    int newline = indexOf(bytes, (byte) '\n', 0, filled);
+                    if (newline < 0) {
+                        if (eof) {
+                            return summary;
+                        }
+                        bufferStart += filled;
+                        filled = 0;
+                        continue;
+                    }
+                    lineStart = newline + 1;
+                    skipping = false;
+                }
+                int newline;
+                while ((newline = indexOf(bytes, (byte) '\n', lineStart, filled)) >= 0) {
+                    if (bufferStart + lineStart >= end) {
+                        return summary;
+                    }
+                    parseLine(bytes, lineStart, newline, bufferStart + lineStart, summary);
+                    lineStart = newline + 1;
+                }
+                if (eof) {
+                    if (lineStart < filled && bufferStart + lineStart < end) {
+                        parseLine(bytes, lineStart, filled, bufferStart + lineStart, summary);
+                    }
+                    return summary;
+                }
+                if (lineStart == 0 && filled == bytes.length) {
+                    throw new IOException("Line at offset " + bufferStart + " is longer than " + BUFFER_BYTES + " bytes");
+                }
+                System.arraycopy(bytes, lineStart, bytes, 0, filled - lineStart);
+                bufferStart += lineStart;
+                filled -= lineStart;
+            }
+        }
+    }
+
+    private void parseLine(byte[] bytes, int from, int to, long offset, InvoiceSummary summary) {
+        if (to > from && bytes[to - 1] == '\r') {
+            to--;
+        }
+        if (to == from) {
+            return;
+        }
+        int firstComma = indexOf(bytes, (byte) ',', from, to);
+        int lastComma = lastIndexOf(bytes, (byte) ',', from, to);
+        if (firstComma < 0 || lastComma == firstComma) {
+            throw new IllegalArgumentException("Malformed invoice line at offset " + offset);
+        }
+        // The customer may itself contain commas, so amount and paid flag are taken from the end
+        int amountComma = lastIndexOf(bytes, (byte) ',', from, lastComma);
+        String customer = new String(bytes, from, amountComma - from, StandardCharsets.UTF_8);
+        long amountCents = parseCents(bytes, amountComma + 1, lastComma, offset);
+        boolean paid = parsePaid(bytes, lastComma + 1, to, offset);
+        summary.add(customer, amountCents, taxCents(amountCents), paid);
+    }
+
+    private static long parseCents(byte[] bytes, int from, int to, long offset) {
+        boolean negative = from < to && bytes[from] == '-';
+        int i = negative ? from + 1 : from;
+        long units = 0;
+        int digits = 0;
+        for (; i < to && bytes[i] != '.'; i++, digits++) {
+            units = Math.addExact(Math.multiplyExact(units, 10), digit(bytes[i], offset));
+        }
+        long cents = 0;
+        int fraction = 0;
+        if (i < to) {
+            for (i++; i < to; i++, fraction++) {
+                if (fraction == 2) {
+                    throw new IllegalArgumentException("More than two decimal places at offset " + offset);
+                }
+                cents = cents * 10 + digit(bytes[i], offset);
+            }
+        }
+        if (digits == 0 && fraction == 0) {
+            throw new IllegalArgumentException("Missing amount at offset " + offset);
+        }
+        cents = fraction == 1 ? cents * 10 : cents;
+        long total = Math.addExact(Math.multiplyExact(units, 100), cents);
+        return negative ? -total : total;
+    }
+
+    private static int digit(byte b, long offset) {
+        if (b < '0' || b > '9') {
+            throw new IllegalArgumentException("Invalid amount at offset " + offset);
+        }
+        return b - '0';
+    }
+
+    private static boolean parsePaid(byte[] bytes, int from, int to, long offset) {
+        int length = to - from;
+        if (length == 4 && (bytes[from] | 0x20) == 't' && (bytes[from + 1] | 0x20) == 'r'
+                && (bytes[from + 2] | 0x20) == 'u' && (bytes[from + 3] | 0x20) == 'e') {
+            return true;
+        }
+        if (length == 5 && (bytes[from] | 0x20) == 'f' && (bytes[from + 1] | 0x20) == 'a'
+                && (bytes[from + 2] | 0x20) == 'l' && (bytes[from + 3] | 0x20) == 's'
+                && (bytes[from + 4] | 0x20) == 'e') {
+            return false;
+        }
+        throw new IllegalArgumentException("Paid flag must be true or false at offset " + offset);
+    }
+
+    private static int indexOf(byte[] bytes, byte target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(byte[] bytes, byte target, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (bytes[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
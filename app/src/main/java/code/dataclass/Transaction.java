@@ -3,21 +3,24 @@ package code.dataclass;
 public class Transaction {
     private double amount;
     private String type;
+    private TransactionType kind;
 
     public Transaction(double amount, String type) {
         this.amount = amount;
         this.type = type;
+        this.kind = TransactionType.fromLabel(type);
     }
 
     public double getAmount() { return amount; }
     public String getType() { return type; }
+    public TransactionType getKind() { return kind; }
 
     public boolean isCredit() {
-        return "credit".equalsIgnoreCase(type);
+        return kind == TransactionType.CREDIT;
     }
 
     public boolean isDebit() {
-        return "debit".equalsIgnoreCase(type);
+        return kind == TransactionType.DEBIT;
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,136 @@
+package code.dataclass;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+// Columnar, off-heap store for transactions: a double column of amounts and a byte column of type codes.
+// A row costs 9 bytes and no objects. The memory is released by close(); the batch may be read from
+// several threads but must be filled by one. Readers see every row up to the size they read, since the
+// row is written before the volatile size that publishes it.
+public class TransactionBatch implements AutoCloseable {
+    private static final int TYPE_COUNT = TransactionType.values().length;
+
+    private final Arena arena;
+    private final MemorySegment amounts;
+    private final MemorySegment types;
+    private final long capacity;
+    private volatile long size;
+
+    public TransactionBatch(long capacity) {
+        if (capacity < 0 || capacity > Long.MAX_VALUE / Double.BYTES) {
+            throw new IllegalArgumentException("Capacity must be between 0 and " + Long.MAX_VALUE / Double.BYTES);
+        }
+        this.capacity = capacity;
+        this.arena = Arena.ofShared();
+        this.amounts = arena.allocate(Math.multiplyExact(capacity, Double.BYTES), Double.BYTES);
+        this.types = arena.allocate(capacity, 1);
+    }
+
+    public void add(Transaction transaction) {
+        add(transaction.getAmount(), transaction.getKind());
+    }
+
+    public void add(double amount, TransactionType type) {
+        long row = size;
+        if (row == capacity) {
+            throw new IllegalStateException("Batch is full at " + capacity + " rows");
+        }
+        amounts.setAtIndex(ValueLayout.JAVA_DOUBLE, row, amount);
+        types.set(ValueLayout.JAVA_BYTE, row, type.code());
+        size = row + 1;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public double amount(long row) {
+        return amounts.getAtIndex(ValueLayout.JAVA_DOUBLE, checkRow(row));
+    }
+
+    public TransactionType type(long row) {
+        return TransactionType.fromCode(types.get(ValueLayout.JAVA_BYTE, checkRow(row)));
+    }
+
+    public double sum() {
+        double sum = 0;
+        long rows = size;
+        for (long row = 0; row < rows; row++) {
+            sum += amounts.getAtIndex(ValueLayout.JAVA_DOUBLE, row);
+        }
+        return sum;
+    }
+
+    // Branch-free: every row adds into one of two slots, so unpredictable type mixes cost no mispredictions
+    public double sum(TransactionType type) {
+        byte code = type.code();
+        double[] slots = new double[2];
+        long rows = size;
+        for (long row = 0; row < rows; row++) {
+            int match = types.get(ValueLayout.JAVA_BYTE, row) == code ? 1 : 0;
+            slots[match] += amounts.getAtIndex(ValueLayout.JAVA_DOUBLE, row);
+        }
+        return slots[1];
+    }
+
+    public long count(TransactionType type) {
+        return count(type.code(), size);
+    }
+
+    private long count(byte code, long rows) {
+        long count = 0;
+        for (long row = 0; row < rows; row++) {
+            if (types.get(ValueLayout.JAVA_BYTE, row) == code) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Sums per type in a single pass, indexed by TransactionType ordinal
+    public double[] sumByType() {
+        double[] sums = new double[TYPE_COUNT];
+        long rows = size;
+        for (long row = 0; row < rows; row++) {
+            sums[types.get(ValueLayout.JAVA_BYTE, row)] += amounts.getAtIndex(ValueLayout.JAVA_DOUBLE, row);
+        }
+        return sums;
+    }
+
+    public double netBalance() {
+        double[] sums = sumByType();
+        return sums[TransactionType.CREDIT.ordinal()] - sums[TransactionType.DEBIT.ordinal()];
+    }
+
+    // Copies the matching rows into a new batch, which the caller must close; rows added while this runs
+    // are not included
+    public TransactionBatch filter(TransactionType type) {
+        byte code = type.code();
+        long rows = size;
+        TransactionBatch matching = new TransactionBatch(count(code, rows));
+        for (long row = 0; row < rows; row++) {
+            if (types.get(ValueLayout.JAVA_BYTE, row) == code) {
+                matching.add(amounts.getAtIndex(ValueLayout.JAVA_DOUBLE, row), type);
+            }
+        }
+        return matching;
+    }
+
+    public long byteSize() {
+        return amounts.byteSize() + types.byteSize();
+    }
+
+    private long checkRow(long row) {
+        long rows = size;
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range for size " + rows);
+        }
+        return row;
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+}
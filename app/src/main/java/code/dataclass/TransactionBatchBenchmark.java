@@ -0,0 +1,90 @@
+package code.dataclass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Memory per row and aggregation throughput of TransactionBatch against a List<Transaction>.
+// Run with: java code.dataclass.TransactionBatchBenchmark [rows]
+public class TransactionBatchBenchmark {
+    private static final String[] LABELS = {"credit", "debit", "Credit", "DEBIT", "refund"};
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        SplittableRandom random = new SplittableRandom(42);
+
+        long heapBefore = usedHeap();
+        List<Transaction> list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            list.add(new Transaction(random.nextInt(1_000_000) / 100.0, LABELS[random.nextInt(LABELS.length)]));
+        }
+        long listBytes = usedHeap() - heapBefore;
+
+        try (TransactionBatch batch = new TransactionBatch(rows)) {
+            for (Transaction transaction : list) {
+                batch.add(transaction);
+            }
+            System.out.printf("rows %,d%n", rows);
+            System.out.printf("%-24s %10.1f bytes/row (heap)%n", "List<Transaction>", (double) listBytes / rows);
+            System.out.printf("%-24s %10.1f bytes/row (off-heap)%n", "TransactionBatch", (double) batch.byteSize() / rows);
+
+            double listNet = 0;
+            double batchNet = 0;
+            long listNanos = Long.MAX_VALUE;
+            long batchNanos = Long.MAX_VALUE;
+            double creditSum = 0;
+            long sumNanos = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                listNet = netBalance(list);
+                listNanos = Math.min(listNanos, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                batchNet = batch.netBalance();
+                batchNanos = Math.min(batchNanos, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                creditSum = batch.sum(TransactionType.CREDIT);
+                sumNanos = Math.min(sumNanos, System.nanoTime() - start);
+            }
+            if (listNet != batchNet) {
+                throw new IllegalStateException("Results differ: " + listNet + " vs " + batchNet);
+            }
+            report("List<Transaction>", listBytes, listNanos, rows);
+            report("TransactionBatch", batch.byteSize(), batchNanos, rows);
+
+            report("batch sum(CREDIT)", batch.byteSize(), sumNanos, rows);
+            try (TransactionBatch debits = batch.filter(TransactionType.DEBIT)) {
+                System.out.printf("net %.2f, credits %.2f, debit rows %,d%n", batchNet, creditSum, debits.size());
+            }
+        }
+    }
+
+    private static double netBalance(List<Transaction> transactions) {
+        double credits = 0;
+        double debits = 0;
+        for (Transaction transaction : transactions) {
+            if (transaction.isCredit()) {
+                credits += transaction.getAmount();
+            } else if (transaction.isDebit()) {
+                debits += transaction.getAmount();
+            }
+        }
+        return credits - debits;
+    }
+
+    // Throughput over the bytes each representation has to touch
+    private static void report(String label, long bytes, long nanos, int rows) {
+        System.out.printf("%-24s %8.2f ms %8.2f ns/row %8.2f GB/s%n",
+                label, nanos / 1e6, (double) nanos / rows, (double) bytes / nanos);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
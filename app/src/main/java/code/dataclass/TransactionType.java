@@ -0,0 +1,28 @@
+package code.dataclass;
+
+// Byte-coded transaction kind, resolved once from the free-text type label
+public enum TransactionType {
+    CREDIT,
+    DEBIT,
+    OTHER;
+
+    private static final TransactionType[] BY_CODE = values();
+
+    public byte code() {
+        return (byte) ordinal();
+    }
+
+    public static TransactionType fromCode(byte code) {
+        return BY_CODE[code];
+    }
+
+    public static TransactionType fromLabel(String label) {
+        if ("credit".equalsIgnoreCase(label)) {
+            return CREDIT;
+        }
+        if ("debit".equalsIgnoreCase(label)) {
+            return DEBIT;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,9 @@
+package code.execution;
+
+public enum ExecutionMode {
+    // Fixed pools of platform threads, one for requests and one for their concurrent steps; concurrency is
+    // capped at the pool sizes
+    PLATFORM_POOL,
+    // One virtual thread per request; blocking calls release the carrier thread
+    VIRTUAL
+}
@@ -0,0 +1,81 @@
+package code.execution;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Compares Executors.newFixedThreadPool(5) with the registry pools on short and mixed-latency tasks
+public class ExecutorBenchmark {
+    private static final int SHORT_TASKS = 1_000_000;
+    private static final int MIXED_TASKS = 20_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int round = 0; round < 3; round++) {
+            ExecutorService fixed = Executors.newFixedThreadPool(5);
+            report("short  fixed(5)", runShort(fixed, fixed), SHORT_TASKS);
+            report("mixed  fixed(5)", runMixed(fixed, fixed), MIXED_TASKS);
+            fixed.shutdown();
+
+            ExecutorRegistry registry = new ExecutorRegistry();
+            InstrumentedExecutor cpu = registry.cpu("cpu");
+            InstrumentedExecutor io = registry.io("io", 64, 10_000, RejectionPolicy.BLOCK);
+            report("short  registry", runShort(cpu, io), SHORT_TASKS);
+            report("mixed  registry", runMixed(cpu, io), MIXED_TASKS);
+            registry.shutdownAll();
+            registry.awaitTermination(10, TimeUnit.SECONDS);
+            if (round == 2) {
+                registry.stats().forEach(System.out::println);
+            }
+        }
+    }
+
+    private static long runShort(ExecutorService cpu, ExecutorService io) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(SHORT_TASKS);
+        long start = System.nanoTime();
+        for (int i = 0; i < SHORT_TASKS; i++) {
+            cpu.execute(() -> {
+                compute(100);
+                done.countDown();
+            });
+        }
+        done.await();
+        return System.nanoTime() - start;
+    }
+
+    // One task in ten blocks for a millisecond; the rest are CPU bound
+    private static long runMixed(ExecutorService cpu, ExecutorService io) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(MIXED_TASKS);
+        long start = System.nanoTime();
+        for (int i = 0; i < MIXED_TASKS; i++) {
+            if (i % 10 == 0) {
+                io.execute(() -> {
+                    LockSupport.parkNanos(1_000_000);
+                    done.countDown();
+                });
+            } else {
+                cpu.execute(() -> {
+                    compute(10_000);
+                    done.countDown();
+                });
+            }
+        }
+        done.await();
+        return System.nanoTime() - start;
+    }
+
+    private static long sink;
+
+    private static void compute(int iterations) {
+        long x = 0;
+        for (int i = 0; i < iterations; i++) {
+            x += i * 31L ^ x;
+        }
+        sink += x;
+    }
+
+    private static void report(String label, long nanos, int tasks) {
+        System.out.printf("%-16s %,12.0f tasks/sec%n", label, tasks / (nanos / 1e9));
+    }
+}
@@ -0,0 +1,88 @@
+package code.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Named pools: work-stealing ForkJoin pools for CPU work, bounded thread pools for blocking I/O. Asking
+// for an existing name returns that pool only if it was created with the same kind and settings.
+public class ExecutorRegistry {
+    private final ConcurrentMap<String, InstrumentedExecutor> pools = new ConcurrentHashMap<>();
+
+    public InstrumentedExecutor cpu(String name) {
+        return cpu(name, Runtime.getRuntime().availableProcessors());
+    }
+
+    public InstrumentedExecutor cpu(String name, int parallelism) {
+        String config = "cpu(parallelism=" + parallelism + ")";
+        return checkConfig(name, config, pools.computeIfAbsent(name, n -> {
+            ForkJoinPool pool = new ForkJoinPool(parallelism, fjp -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(fjp);
+                thread.setName(n + "-" + thread.getPoolIndex());
+                return thread;
+            }, null, true);
+            return new InstrumentedExecutor(n, config, pool,
+                    () -> (int) Math.min(Integer.MAX_VALUE, pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount()));
+        }));
+    }
+
+    public InstrumentedExecutor io(String name, int threads, int queueCapacity, RejectionPolicy policy) {
+        String config = "io(threads=" + threads + ", queueCapacity=" + queueCapacity + ", policy=" + policy + ")";
+        return checkConfig(name, config, pools.computeIfAbsent(name, n -> {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    Thread.ofPlatform().name(n + "-", 0).daemon(true).factory());
+            InstrumentedExecutor executor = new InstrumentedExecutor(n, config, pool, () -> pool.getQueue().size());
+            pool.setRejectedExecutionHandler((task, source) -> {
+                executor.recordRejection();
+                policy.handler().rejectedExecution(task, source);
+            });
+            return executor;
+        }));
+    }
+
+    // A caller that gets a pool of another kind or size would silently run on the wrong threads
+    private static InstrumentedExecutor checkConfig(String name, String config, InstrumentedExecutor executor) {
+        if (!executor.getConfig().equals(config)) {
+            throw new IllegalArgumentException(
+                    "Executor " + name + " already exists as " + executor.getConfig() + ", not " + config);
+        }
+        return executor;
+    }
+
+    public InstrumentedExecutor get(String name) {
+        InstrumentedExecutor executor = pools.get(name);
+        if (executor == null) {
+            throw new IllegalArgumentException("No executor named " + name);
+        }
+        return executor;
+    }
+
+    public List<PoolStats> stats() {
+        List<PoolStats> stats = new ArrayList<>();
+        for (InstrumentedExecutor executor : pools.values()) {
+            stats.add(executor.stats());
+        }
+        return stats;
+    }
+
+    public void shutdownAll() {
+        pools.values().forEach(InstrumentedExecutor::shutdown);
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (InstrumentedExecutor executor : pools.values()) {
+            if (!executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
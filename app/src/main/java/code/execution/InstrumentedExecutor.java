@@ -0,0 +1,110 @@
+package code.execution;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+// Wraps a pool and records queue wait and run time for every task it executes
+public class InstrumentedExecutor extends AbstractExecutorService {
+    private final String name;
+    // Kind and settings the pool was created with
+    private final String config;
+    private final ExecutorService delegate;
+    private final IntSupplier queueLength;
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalRunNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    InstrumentedExecutor(String name, String config, ExecutorService delegate, IntSupplier queueLength) {
+        this.name = name;
+        this.config = config;
+        this.delegate = delegate;
+        this.queueLength = queueLength;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        long submittedAt = System.nanoTime();
+        // Counted up front so a task that completes at once never shows more completed than submitted
+        submitted.increment();
+        try {
+            delegate.execute(() -> run(command, submittedAt));
+        } catch (RejectedExecutionException e) {
+            // Refused and not handled by the rejection policy, so it was never accepted
+            submitted.decrement();
+            throw e;
+        }
+    }
+
+    private void run(Runnable command, long submittedAt) {
+        long start = System.nanoTime();
+        long wait = start - submittedAt;
+        totalWaitNanos.add(wait);
+        if (wait > maxWaitNanos.get()) {
+            maxWaitNanos.accumulateAndGet(wait, Math::max);
+        }
+        active.incrementAndGet();
+        try {
+            command.run();
+        } finally {
+            active.decrementAndGet();
+            totalRunNanos.add(System.nanoTime() - start);
+            completed.increment();
+        }
+    }
+
+    // Called from the pool's rejection handler
+    void recordRejection() {
+        rejected.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    String getConfig() {
+        return config;
+    }
+
+    public PoolStats stats() {
+        long started = completed.sum();
+        return new PoolStats(name, queueLength.getAsInt(), active.get(), submitted.sum(), started, rejected.sum(),
+                started == 0 ? 0 : totalWaitNanos.sum() / started, maxWaitNanos.get(),
+                started == 0 ? 0 : totalRunNanos.sum() / started);
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
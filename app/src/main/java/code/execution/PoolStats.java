@@ -0,0 +1,71 @@
+package code.execution;
+
+public class PoolStats {
+    private final String name;
+    private final int queueLength;
+    private final int activeThreads;
+    private final long submitted;
+    private final long completed;
+    private final long rejected;
+    private final long averageWaitNanos;
+    private final long maxWaitNanos;
+    private final long averageRunNanos;
+
+    PoolStats(String name, int queueLength, int activeThreads, long submitted, long completed, long rejected,
+              long averageWaitNanos, long maxWaitNanos, long averageRunNanos) {
+        this.name = name;
+        this.queueLength = queueLength;
+        this.activeThreads = activeThreads;
+        this.submitted = submitted;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.averageWaitNanos = averageWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.averageRunNanos = averageRunNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueueLength() {
+        return queueLength;
+    }
+
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    // Time between submission and a worker starting the task
+    public long getAverageWaitNanos() {
+        return averageWaitNanos;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    public long getAverageRunNanos() {
+        return averageRunNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: queue=%d active=%d submitted=%d completed=%d rejected=%d "
+                        + "avgWait=%dus maxWait=%dus avgRun=%dus",
+                name, queueLength, activeThreads, submitted, completed, rejected,
+                averageWaitNanos / 1_000, maxWaitNanos / 1_000, averageRunNanos / 1_000);
+    }
+}
@@ -0,0 +1,36 @@
+package code.execution;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+public enum RejectionPolicy {
+    // Throw RejectedExecutionException to the submitter
+    ABORT(new ThreadPoolExecutor.AbortPolicy()),
+    // Run the task on the submitting thread, which slows the producer down
+    CALLER_RUNS(new ThreadPoolExecutor.CallerRunsPolicy()),
+    // Drop the oldest queued task to make room
+    DISCARD_OLDEST(new ThreadPoolExecutor.DiscardOldestPolicy()),
+    // Wait for queue space on the submitting thread
+    BLOCK((task, executor) -> {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Executor is shut down");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for queue space", e);
+        }
+    });
+
+    private final RejectedExecutionHandler handler;
+
+    RejectionPolicy(RejectedExecutionHandler handler) {
+        this.handler = handler;
+    }
+
+    RejectedExecutionHandler handler() {
+        return handler;
+    }
+}
@@ -0,0 +1,49 @@
+package code.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+// Completes many concurrent blocking requests (two concurrent 20 ms I/O steps each) per execution mode.
+// The platform mode gets PLATFORM_THREADS threads for requests and as many again for their steps.
+public class RequestCapacityBenchmark {
+    private static final int REQUESTS = 10_000;
+    private static final int PLATFORM_THREADS = 200;
+    private static final long IO_MILLIS = 20;
+
+    public static void main(String[] args) throws Exception {
+        for (int round = 0; round < 2; round++) {
+            run(RequestExecutor.platform(PLATFORM_THREADS));
+            run(RequestExecutor.virtual());
+        }
+    }
+
+    private static void run(RequestExecutor executor) throws InterruptedException, ExecutionException {
+        long start = System.nanoTime();
+        List<Future<?>> results = new ArrayList<>(REQUESTS);
+        try (executor) {
+            for (int i = 0; i < REQUESTS; i++) {
+                results.add(executor.submit(() -> {
+                    executor.runConcurrently(RequestCapacityBenchmark::blockingCall,
+                            RequestCapacityBenchmark::blockingCall);
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-14s %,8d requests in %6.2fs = %,10.0f requests/sec%n",
+                executor.getMode(), REQUESTS, seconds, REQUESTS / seconds);
+    }
+
+    private static void blockingCall() {
+        try {
+            Thread.sleep(IO_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package code.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.ThreadFactory;
+
+public class RequestExecutor implements AutoCloseable {
+    private final ExecutionMode mode;
+    private final ExecutorService executor;
+    // VIRTUAL forks each step on a new virtual thread; PLATFORM_POOL runs steps on a second fixed pool
+    private final ThreadFactory stepFactory;
+    private final ExecutorService stepPool;
+
+    public RequestExecutor(ExecutionMode mode, int platformThreads) {
+        this.mode = mode;
+        if (mode == ExecutionMode.VIRTUAL) {
+            this.executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("request-", 0).factory());
+            this.stepFactory = Thread.ofVirtual().name("request-step-", 0).factory();
+            this.stepPool = null;
+        } else {
+            this.executor = Executors.newFixedThreadPool(platformThreads,
+                    Thread.ofPlatform().name("request-", 0).factory());
+            this.stepFactory = null;
+            this.stepPool = Executors.newFixedThreadPool(platformThreads,
+                    Thread.ofPlatform().name("request-step-", 0).factory());
+        }
+    }
+
+    public static RequestExecutor virtual() {
+        return new RequestExecutor(ExecutionMode.VIRTUAL, 0);
+    }
+
+    public static RequestExecutor platform(int threads) {
+        return new RequestExecutor(ExecutionMode.PLATFORM_POOL, threads);
+    }
+
+    public ExecutionMode getMode() {
+        return mode;
+    }
+
+    public <T> Future<T> submit(Callable<T> request) {
+        return executor.submit(request);
+    }
+
+    public Future<?> submit(Runnable request) {
+        return executor.submit(request);
+    }
+
+    // Runs independent steps side by side; the first failure cancels the rest
+    public void runConcurrently(Runnable... steps) throws InterruptedException, ExecutionException {
+        if (stepPool != null) {
+            runOnStepPool(steps);
+            return;
+        }
+        try (StructuredTaskScope.ShutdownOnFailure scope = new StructuredTaskScope.ShutdownOnFailure("request",
+                stepFactory)) {
+            for (Runnable step : steps) {
+                scope.fork(() -> {
+                    step.run();
+                    return null;
+                });
+            }
+            scope.join().throwIfFailed();
+        }
+    }
+
+    // Same contract as the structured scope, but steps queue for the fixed pool, so step concurrency stays
+    // capped at the pool size; results are taken in completion order so a failure is seen as soon as it happens
+    private void runOnStepPool(Runnable[] steps) throws InterruptedException, ExecutionException {
+        CompletionService<Void> completion = new ExecutorCompletionService<>(stepPool);
+        List<Future<Void>> forked = new ArrayList<>(steps.length);
+        try {
+            for (Runnable step : steps) {
+                forked.add(completion.submit(step, null));
+            }
+            for (int i = 0; i < steps.length; i++) {
+                completion.take().get();
+            }
+        } finally {
+            for (Future<Void> step : forked) {
+                step.cancel(true);
+            }
+        }
+    }
+
+    // Waits for submitted requests to finish
+    @Override
+    public void close() {
+        executor.close();
+        if (stepPool != null) {
+            stepPool.close();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package code.godobject.ordermanager;
+
+import code.execution.RequestExecutor;
+
+import java.util.concurrent.ExecutionException;
+
+public class OrderWorkflow {
+    private final OrderService orderService;
+    private final OrderNotificationService notificationService;
+    private final BackupService backupService;
+
+    public OrderWorkflow(OrderService orderService, OrderNotificationService notificationService,
+                         BackupService backupService) {
+        this.orderService = orderService;
+        this.notificationService = notificationService;
+        this.backupService = backupService;
+    }
+
+    // Notification and backup only depend on the created order, so they run side by side
+    public void placeOrder(RequestExecutor executor) throws InterruptedException, ExecutionException {
+        orderService.createOrder();
+        executor.runConcurrently(notificationService::sendOrderNotification, backupService::backupOrders);
+    }
+
+    public static void main(String[] args) throws Exception {
+        OrderWorkflow workflow = new OrderWorkflow(new OrderService(), new OrderNotificationService(), new BackupService());
+        try (RequestExecutor executor = RequestExecutor.virtual()) {
+            for (int i = 0; i < 3; i++) {
+                executor.submit(() -> {
+                    workflow.placeOrder(executor);
+                    return null;
+                });
+            }
+        }
+    }
+}
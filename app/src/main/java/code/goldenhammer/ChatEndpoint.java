@@ -1,32 +1,108 @@
 package code.goldenhammer;
 
+import code.goldenhammer.chat.BroadcastEngine;
+import code.goldenhammer.chat.ChatFrame;
+import code.goldenhammer.chat.ChatStats;
+import code.goldenhammer.chat.SessionSink;
+import code.goldenhammer.chat.TopicHeader;
+
+import javax.websocket.CloseReason;
 import javax.websocket.OnClose;
+import javax.websocket.OnError;
 import javax.websocket.OnMessage;
 import javax.websocket.OnOpen;
 import javax.websocket.Session;
 import javax.websocket.server.ServerEndpoint;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 @ServerEndpoint("/chat")
 public class ChatEndpoint {
+    static final String DEFAULT_ROOM = "lobby";
+    private static final String SINK_KEY = SessionSink.class.getName();
+    private static final BroadcastEngine ENGINE = BroadcastEngine.fromSystemProperties();
+    private static final ChatStats STATS = ChatStats.register(ENGINE);
+
+    static BroadcastEngine engine() {
+        return ENGINE;
+    }
+
+    static ChatStats stats() {
+        return STATS;
+    }
+
+    static void join(Session session, String room) {
+        SessionSink sink = new SessionSink(session);
+        session.getUserProperties().put(SINK_KEY, sink);
+        ENGINE.register(sink);
+        ENGINE.subscribe(session.getId(), room);
+        System.out.println("Connected: " + session.getId() + " to " + room);
+    }
+
+    static void route(String message, String room) {
+        TopicHeader header = TopicHeader.parse(message, room);
+        ENGINE.publish(header.getTopic(), header.getBody());
+    }
+
+    // A frame with an empty topic goes to the sender's room; a malformed frame closes the session
+    static void route(ByteBuffer frame, Session session, String room) {
+        SessionSink sink = (SessionSink) session.getUserProperties().get(SINK_KEY);
+        if (sink != null) {
+            sink.preferBinary();
+        }
+        ChatFrame decoded;
+        try {
+            decoded = ChatFrame.decode(frame);
+        } catch (IllegalArgumentException e) {
+            reject(session, e.getMessage());
+            return;
+        }
+        String topic = decoded.getTopic().isEmpty() ? room : decoded.getTopic();
+        ENGINE.publish(topic, decoded.getPayload());
+    }
+
+    static void reject(Session session, String reason) {
+        try {
+            session.close(new CloseReason(CloseReason.CloseCodes.CANNOT_ACCEPT, reason));
+        } catch (IOException e) {
+            System.err.println("Failed to close session " + session.getId() + ": " + e.getMessage());
+        }
+    }
+
+    static void fail(Session session, Throwable error) {
+        System.err.println("Error on session " + session.getId() + ": " + error);
+        if (session.isOpen()) {
+            reject(session, "Unexpected error");
+        }
+    }
+
+    static void leave(Session session) {
+        ENGINE.unregister(session.getId());
+        System.out.println("Disconnected: " + session.getId());
+    }
+
     @OnOpen
     public void onOpen(Session session) {
-        System.out.println("Connected: " + session.getId());
+        join(session, DEFAULT_ROOM);
     }
 
     @OnMessage
     public void onMessage(String message, Session session) {
-        session.getOpenSessions().forEach(s -> {
-            try {
-                s.getBasicRemote().sendText(message);
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        });
+        route(message, DEFAULT_ROOM);
+    }
+
+    @OnMessage
+    public void onMessage(ByteBuffer frame, Session session) {
+        route(frame, session, DEFAULT_ROOM);
     }
 
     @OnClose
     public void onClose(Session session) {
-        System.out.println("Disconnected: " + session.getId());
+        leave(session);
+    }
+
+    @OnError
+    public void onError(Session session, Throwable error) {
+        fail(session, error);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package code.goldenhammer;
+
+import javax.websocket.OnClose;
+import javax.websocket.OnError;
+import javax.websocket.OnMessage;
+import javax.websocket.OnOpen;
+import javax.websocket.Session;
+import javax.websocket.server.PathParam;
+import javax.websocket.server.ServerEndpoint;
+import java.nio.ByteBuffer;
+
+@ServerEndpoint("/chat/{room}")
+public class ChatRoomEndpoint {
+    @OnOpen
+    public void onOpen(Session session, @PathParam("room") String room) {
+        if (room.equals(ChatStatsEndpoint.RESERVED_ROOM)) {
+            ChatEndpoint.reject(session, "Room name is reserved");
+            return;
+        }
+        ChatEndpoint.join(session, room);
+    }
+
+    @OnMessage
+    public void onMessage(String message, Session session, @PathParam("room") String room) {
+        ChatEndpoint.route(message, room);
+    }
+
+    @OnMessage
+    public void onMessage(ByteBuffer frame, Session session, @PathParam("room") String room) {
+        ChatEndpoint.route(frame, session, room);
+    }
+
+    @OnClose
+    public void onClose(Session session) {
+        ChatEndpoint.leave(session);
+    }
+
+    @OnError
+    public void onError(Session session, Throwable error) {
+        ChatEndpoint.fail(session, error);
+    }
+}
@@ -0,0 +1,25 @@
+package code.goldenhammer;
+
+import javax.websocket.OnMessage;
+import javax.websocket.OnOpen;
+import javax.websocket.Session;
+import javax.websocket.server.ServerEndpoint;
+import java.io.IOException;
+
+// Sends a plain-text stats snapshot on connect and again for every message received. The app only
+// runs a websocket container, so the snapshot is served here rather than over plain HTTP; JMX carries
+// the same numbers for pollers. The exact path wins over /chat/{room}, so "stats" is a reserved room.
+@ServerEndpoint("/chat/" + ChatStatsEndpoint.RESERVED_ROOM)
+public class ChatStatsEndpoint {
+    static final String RESERVED_ROOM = "stats";
+
+    @OnOpen
+    public void onOpen(Session session) throws IOException {
+        session.getBasicRemote().sendText(ChatEndpoint.stats().snapshot());
+    }
+
+    @OnMessage
+    public String onMessage(String message, Session session) {
+        return ChatEndpoint.stats().snapshot();
+    }
+}
@@ -0,0 +1,144 @@
+package code.goldenhammer.chat;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+public class BroadcastEngine {
+    private final ConcurrentMap<String, OutboundChannel> channels = new ConcurrentHashMap<>();
+    private final SubscriptionIndex subscriptions = new SubscriptionIndex();
+    private final TopicDispatcher dispatcher;
+    private final ChatMetrics metrics = new ChatMetrics();
+    private final int queueCapacity;
+    private final SlowConsumerPolicy policy;
+
+    public BroadcastEngine(int queueCapacity, SlowConsumerPolicy policy) {
+        this(queueCapacity, policy, Runtime.getRuntime().availableProcessors());
+    }
+
+    public BroadcastEngine(int queueCapacity, SlowConsumerPolicy policy, int dispatcherThreads) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+        this.policy = policy;
+        this.dispatcher = new TopicDispatcher(dispatcherThreads);
+    }
+
+    public static BroadcastEngine fromSystemProperties() {
+        int capacity = Integer.getInteger("chat.queueCapacity", 256);
+        SlowConsumerPolicy policy = SlowConsumerPolicy.valueOf(
+                System.getProperty("chat.slowConsumerPolicy", SlowConsumerPolicy.DROP_OLDEST.name()));
+        int dispatcherThreads = Integer.getInteger("chat.dispatcherThreads", Runtime.getRuntime().availableProcessors());
+        return new BroadcastEngine(capacity, policy, dispatcherThreads);
+    }
+
+    public void register(MessageSink sink) {
+        OutboundChannel previous = channels.put(sink.getId(), new OutboundChannel(sink, queueCapacity, policy, metrics));
+        metrics.sessionOpened();
+        if (previous != null) {
+            // Close before unsubscribing; subscribe() relies on this order
+            previous.close();
+            subscriptions.unsubscribeAll(previous);
+            metrics.sessionClosed();
+        }
+    }
+
+    public void unregister(String sessionId) {
+        OutboundChannel channel = channels.remove(sessionId);
+        if (channel != null) {
+            channel.release();
+            subscriptions.unsubscribeAll(channel);
+            metrics.sessionClosed();
+        }
+    }
+
+    public void subscribe(String sessionId, String topic) {
+        OutboundChannel channel = channels.get(sessionId);
+        if (channel == null) {
+            throw new IllegalStateException("Session " + sessionId + " is not registered");
+        }
+        subscriptions.subscribe(topic, channel);
+        // A channel closed concurrently may already have been unsubscribed from everything; channels are
+        // closed before they are unsubscribed, so if it is still open here its removal will see this topic
+        if (channel.isClosed()) {
+            subscriptions.unsubscribeAll(channel);
+        }
+    }
+
+    public void unsubscribe(String sessionId, String topic) {
+        OutboundChannel channel = channels.get(sessionId);
+        if (channel != null) {
+            subscriptions.unsubscribe(topic, channel);
+        }
+    }
+
+    // Fans out on the topic's dispatcher shard; messages on one topic are delivered in publish order
+    public void publish(String topic, String text) {
+        publish(topic, OutboundMessage.text(topic, text));
+    }
+
+    // The payload is copied once into a frame that all subscribers share
+    public void publish(String topic, ByteBuffer payload) {
+        publish(topic, OutboundMessage.binary(topic, payload));
+    }
+
+    private void publish(String topic, OutboundMessage message) {
+        metrics.messagePublished();
+        dispatcher.dispatch(topic, () -> fanOut(subscriptions.subscribersOf(topic), message));
+    }
+
+    // Enqueues one shared message instance on every channel; never waits on a client
+    public int broadcast(String text) {
+        OutboundMessage message = OutboundMessage.text(text);
+        metrics.messagePublished();
+        return fanOut(channels.values().toArray(new OutboundChannel[0]), message);
+    }
+
+    private int fanOut(OutboundChannel[] targets, OutboundMessage message) {
+        int delivered = 0;
+        for (OutboundChannel channel : targets) {
+            if (channel.offer(message)) {
+                delivered++;
+            } else if (channel.isClosed()) {
+                // Also unsubscribe channels already replaced or removed, in case one outlived its removal
+                if (channels.remove(channel.getId(), channel)) {
+                    metrics.sessionClosed();
+                }
+                subscriptions.unsubscribeAll(channel);
+            }
+        }
+        return delivered;
+    }
+
+    public int getSessionCount() {
+        return channels.size();
+    }
+
+    public int getTopicCount() {
+        return subscriptions.getTopicCount();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public ChatMetrics getMetrics() {
+        return metrics;
+    }
+
+    Collection<OutboundChannel> channels() {
+        return channels.values();
+    }
+
+    public SlowConsumerPolicy getPolicy() {
+        return policy;
+    }
+
+    public void shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,74 @@
+package code.goldenhammer.chat;
+
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Fans out to simulated sessions and reports p99 broadcast latency with and without stalled consumers
+public class BroadcastLoadBenchmark {
+    private static final int SESSIONS = 10_000;
+    private static final int MESSAGES = 2_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        ScheduledExecutorService completions = Executors.newScheduledThreadPool(4);
+        try {
+            for (int stalled : new int[] {0, 10, 100}) {
+                for (SlowConsumerPolicy policy : SlowConsumerPolicy.values()) {
+                    run(completions, stalled, policy);
+                }
+            }
+        } finally {
+            completions.shutdownNow();
+        }
+    }
+
+    private static void run(ScheduledExecutorService completions, int stalled, SlowConsumerPolicy policy) {
+        BroadcastEngine engine = new BroadcastEngine(64, policy);
+        for (int i = 0; i < SESSIONS; i++) {
+            engine.register(new SimulatedSink("session-" + i, i < stalled, completions));
+        }
+        long[] latencies = new long[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            long start = System.nanoTime();
+            engine.broadcast("message " + i);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("stalled=%d policy=%s p50=%dus p99=%dus sessions=%d%n",
+                stalled, policy,
+                latencies[MESSAGES / 2] / 1_000,
+                latencies[MESSAGES * 99 / 100] / 1_000,
+                engine.getSessionCount());
+    }
+
+    private static class SimulatedSink implements MessageSink {
+        private final String id;
+        private final boolean stalled;
+        private final ScheduledExecutorService completions;
+
+        SimulatedSink(String id, boolean stalled, ScheduledExecutorService completions) {
+            this.id = id;
+            this.stalled = stalled;
+            this.completions = completions;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public void send(OutboundMessage message, SendHandler handler) {
+            if (!stalled) {
+                completions.schedule(() -> handler.onResult(new SendResult()), 50, TimeUnit.MICROSECONDS);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
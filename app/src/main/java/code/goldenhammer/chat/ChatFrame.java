@@ -0,0 +1,72 @@
+package code.goldenhammer.chat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Binary frame layout: u16 topic length | topic (UTF-8) | u32 payload length | payload
+public final class ChatFrame {
+    static final int MAX_TOPIC_LENGTH = 0xFFFF;
+    private static final int HEADER_SIZE = Short.BYTES + Integer.BYTES;
+
+    private final String topic;
+    private final ByteBuffer payload;
+
+    private ChatFrame(String topic, ByteBuffer payload) {
+        this.topic = topic;
+        this.payload = payload;
+    }
+
+    public static ByteBuffer encode(String topic, ByteBuffer payload) {
+        byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        if (topicBytes.length > MAX_TOPIC_LENGTH) {
+            throw new IllegalArgumentException("Topic is too long");
+        }
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + topicBytes.length + payload.remaining());
+        frame.putShort((short) topicBytes.length);
+        frame.put(topicBytes);
+        frame.putInt(payload.remaining());
+        frame.put(payload.duplicate());
+        frame.flip();
+        return frame;
+    }
+
+    // The payload is a read-only slice of the given buffer, not a copy
+    public static ChatFrame decode(ByteBuffer frame) {
+        ByteBuffer in = frame.duplicate();
+        if (in.remaining() < HEADER_SIZE) {
+            throw new IllegalArgumentException("Frame is too short");
+        }
+        int topicLength = Short.toUnsignedInt(in.getShort());
+        if (in.remaining() < topicLength + Integer.BYTES) {
+            throw new IllegalArgumentException("Frame topic is truncated");
+        }
+        String topic = decodeUtf8(in, topicLength);
+        int payloadLength = in.getInt();
+        if (payloadLength < 0 || payloadLength != in.remaining()) {
+            throw new IllegalArgumentException("Frame payload length does not match");
+        }
+        return new ChatFrame(topic, in.slice().asReadOnlyBuffer());
+    }
+
+    private static String decodeUtf8(ByteBuffer in, int length) {
+        if (length == 0) {
+            return "";
+        }
+        ByteBuffer bytes = in.slice();
+        bytes.limit(length);
+        in.position(in.position() + length);
+        return StandardCharsets.UTF_8.decode(bytes).toString();
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public ByteBuffer getPayload() {
+        return payload.duplicate();
+    }
+
+    public String getPayloadText() {
+        return StandardCharsets.UTF_8.decode(payload.duplicate()).toString();
+    }
+}
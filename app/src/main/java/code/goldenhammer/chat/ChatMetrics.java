@@ -0,0 +1,77 @@
+package code.goldenhammer.chat;
+
+import code.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class ChatMetrics {
+    private final LongAdder sessionsOpened = new LongAdder();
+    private final LongAdder sessionsClosed = new LongAdder();
+    private final LongAdder messagesPublished = new LongAdder();
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private final LongAdder messagesDropped = new LongAdder();
+    private final LongAdder slowConsumerDisconnects = new LongAdder();
+    private final LatencyHistogram sendLatency = new LatencyHistogram();
+
+    void sessionOpened() {
+        sessionsOpened.increment();
+    }
+
+    void sessionClosed() {
+        sessionsClosed.increment();
+    }
+
+    void messagePublished() {
+        messagesPublished.increment();
+    }
+
+    void sendCompleted(long nanos, boolean ok) {
+        sendLatency.record(nanos);
+        if (ok) {
+            messagesSent.increment();
+        } else {
+            sendFailures.increment();
+        }
+    }
+
+    void messagesDropped(int count) {
+        messagesDropped.add(count);
+    }
+
+    void slowConsumerDisconnected() {
+        slowConsumerDisconnects.increment();
+    }
+
+    public long getSessionsOpened() {
+        return sessionsOpened.sum();
+    }
+
+    public long getSessionsClosed() {
+        return sessionsClosed.sum();
+    }
+
+    public long getMessagesPublished() {
+        return messagesPublished.sum();
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    public long getSendFailures() {
+        return sendFailures.sum();
+    }
+
+    public long getMessagesDropped() {
+        return messagesDropped.sum();
+    }
+
+    public long getSlowConsumerDisconnects() {
+        return slowConsumerDisconnects.sum();
+    }
+
+    public LatencyHistogram getSendLatency() {
+        return sendLatency;
+    }
+}
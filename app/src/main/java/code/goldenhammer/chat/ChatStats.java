@@ -0,0 +1,144 @@
+package code.goldenhammer.chat;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+public class ChatStats implements ChatStatsMXBean {
+    public static final String OBJECT_NAME = "code.goldenhammer.chat:type=ChatStats";
+
+    private final BroadcastEngine engine;
+    private final ChatMetrics metrics;
+
+    public ChatStats(BroadcastEngine engine) {
+        this.engine = engine;
+        this.metrics = engine.getMetrics();
+    }
+
+    public static ChatStats register(BroadcastEngine engine) {
+        ChatStats stats = new ChatStats(engine);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(stats, name);
+        } catch (JMException e) {
+            System.err.println("Failed to register chat stats MBean: " + e.getMessage());
+        }
+        return stats;
+    }
+
+    @Override
+    public int getOpenSessions() {
+        return engine.getSessionCount();
+    }
+
+    @Override
+    public int getTopics() {
+        return engine.getTopicCount();
+    }
+
+    @Override
+    public long getSessionsOpened() {
+        return metrics.getSessionsOpened();
+    }
+
+    @Override
+    public long getSessionsClosed() {
+        return metrics.getSessionsClosed();
+    }
+
+    @Override
+    public long getMessagesPublished() {
+        return metrics.getMessagesPublished();
+    }
+
+    @Override
+    public long getMessagesSent() {
+        return metrics.getMessagesSent();
+    }
+
+    @Override
+    public long getSendFailures() {
+        return metrics.getSendFailures();
+    }
+
+    @Override
+    public long getMessagesDropped() {
+        return metrics.getMessagesDropped();
+    }
+
+    @Override
+    public long getSlowConsumerDisconnects() {
+        return metrics.getSlowConsumerDisconnects();
+    }
+
+    @Override
+    public long getTotalQueueDepth() {
+        long total = 0;
+        for (OutboundChannel channel : engine.channels()) {
+            total += channel.getDepth();
+        }
+        return total;
+    }
+
+    @Override
+    public int getMaxQueueDepth() {
+        int max = 0;
+        for (OutboundChannel channel : engine.channels()) {
+            max = Math.max(max, channel.getDepth());
+        }
+        return max;
+    }
+
+    @Override
+    public int getSaturatedSessions() {
+        int threshold = engine.getQueueCapacity() * 3 / 4;
+        int saturated = 0;
+        for (OutboundChannel channel : engine.channels()) {
+            if (channel.getDepth() >= threshold) {
+                saturated++;
+            }
+        }
+        return saturated;
+    }
+
+    @Override
+    public long getSendLatencyP50Micros() {
+        return metrics.getSendLatency().getPercentile(50) / 1_000;
+    }
+
+    @Override
+    public long getSendLatencyP99Micros() {
+        return metrics.getSendLatency().getPercentile(99) / 1_000;
+    }
+
+    @Override
+    public long getSendLatencyMaxMicros() {
+        return metrics.getSendLatency().getMax() / 1_000;
+    }
+
+    @Override
+    public String snapshot() {
+        StringBuilder out = new StringBuilder();
+        out.append("open_sessions ").append(getOpenSessions()).append('\n');
+        out.append("topics ").append(getTopics()).append('\n');
+        out.append("sessions_opened ").append(getSessionsOpened()).append('\n');
+        out.append("sessions_closed ").append(getSessionsClosed()).append('\n');
+        out.append("messages_published ").append(getMessagesPublished()).append('\n');
+        out.append("messages_sent ").append(getMessagesSent()).append('\n');
+        out.append("send_failures ").append(getSendFailures()).append('\n');
+        out.append("messages_dropped ").append(getMessagesDropped()).append('\n');
+        out.append("slow_consumer_disconnects ").append(getSlowConsumerDisconnects()).append('\n');
+        out.append("queue_depth_total ").append(getTotalQueueDepth()).append('\n');
+        out.append("queue_depth_max ").append(getMaxQueueDepth()).append('\n');
+        out.append("saturated_sessions ").append(getSaturatedSessions()).append('\n');
+        out.append("send_latency_p50_us ").append(getSendLatencyP50Micros()).append('\n');
+        out.append("send_latency_p99_us ").append(getSendLatencyP99Micros()).append('\n');
+        out.append("send_latency_max_us ").append(getSendLatencyMaxMicros()).append('\n');
+        return out.toString();
+    }
+}
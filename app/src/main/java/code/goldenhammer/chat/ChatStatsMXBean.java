@@ -0,0 +1,36 @@
+package code.goldenhammer.chat;
+
+public interface ChatStatsMXBean {
+    int getOpenSessions();
+
+    int getTopics();
+
+    long getSessionsOpened();
+
+    long getSessionsClosed();
+
+    long getMessagesPublished();
+
+    long getMessagesSent();
+
+    long getSendFailures();
+
+    long getMessagesDropped();
+
+    long getSlowConsumerDisconnects();
+
+    long getTotalQueueDepth();
+
+    int getMaxQueueDepth();
+
+    // Sessions whose queue is at least three quarters full
+    int getSaturatedSessions();
+
+    long getSendLatencyP50Micros();
+
+    long getSendLatencyP99Micros();
+
+    long getSendLatencyMaxMicros();
+
+    String snapshot();
+}
@@ -0,0 +1,70 @@
+package code.goldenhammer.chat;
+
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Reports bytes allocated per broadcast when every recipient re-encodes versus sharing one frame
+public class FrameAllocationBenchmark {
+    private static final int SESSIONS = 1_000;
+    private static final int MESSAGES = 2_000;
+    private static final String PAYLOAD = "x".repeat(512);
+
+    public static void main(String[] args) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int round = 0; round < 3; round++) {
+            run(threads, "per-recipient encode", false);
+            run(threads, "shared read-only frame", true);
+        }
+    }
+
+    private static void run(com.sun.management.ThreadMXBean threads, String label, boolean shared) {
+        BroadcastEngine engine = new BroadcastEngine(16, SlowConsumerPolicy.DROP_OLDEST, 1);
+        for (int i = 0; i < SESSIONS; i++) {
+            engine.register(new EncodingSink("session-" + i, shared));
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            engine.broadcast(PAYLOAD);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        System.out.printf("%-24s %,10d bytes/broadcast %,8d us/broadcast%n",
+                label, allocated / MESSAGES, elapsed / MESSAGES / 1_000);
+    }
+
+    private static class EncodingSink implements MessageSink {
+        private static final SendResult OK = new SendResult();
+
+        private final String id;
+        private final boolean shared;
+        private long checksum;
+
+        EncodingSink(String id, boolean shared) {
+            this.id = id;
+            this.shared = shared;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public void send(OutboundMessage message, SendHandler handler) {
+            ByteBuffer bytes = shared
+                    ? message.getFrame()
+                    : StandardCharsets.UTF_8.encode(message.getText());
+            checksum += bytes.remaining();
+            handler.onResult(OK);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
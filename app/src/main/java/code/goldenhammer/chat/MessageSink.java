@@ -0,0 +1,12 @@
+package code.goldenhammer.chat;
+
+import javax.websocket.SendHandler;
+
+public interface MessageSink {
+    String getId();
+
+    // Must not block; completion is reported through the handler
+    void send(OutboundMessage message, SendHandler handler);
+
+    void close();
+}
@@ -0,0 +1,133 @@
+package code.goldenhammer.chat;
+
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded per-session queue with at most one async send in flight
+class OutboundChannel implements SendHandler {
+    private final MessageSink sink;
+    private final int capacity;
+    private final SlowConsumerPolicy policy;
+    private final ChatMetrics metrics;
+    private final Queue<OutboundMessage> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile long sendStartNanos;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    OutboundChannel(MessageSink sink, int capacity, SlowConsumerPolicy policy, ChatMetrics metrics) {
+        this.sink = sink;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.metrics = metrics;
+    }
+
+    boolean offer(OutboundMessage message) {
+        if (closed.get()) {
+            return false;
+        }
+        if (depth.get() >= capacity) {
+            switch (policy) {
+                case DROP_OLDEST:
+                    discard(1);
+                    break;
+                case COALESCE:
+                    discard(Integer.MAX_VALUE);
+                    break;
+                case DISCONNECT:
+                    metrics.slowConsumerDisconnected();
+                    close();
+                    return false;
+            }
+        }
+        queue.offer(message);
+        depth.incrementAndGet();
+        drain();
+        return true;
+    }
+
+    private void discard(int max) {
+        int removed = 0;
+        while (removed < max && queue.poll() != null) {
+            removed++;
+        }
+        depth.addAndGet(-removed);
+        dropped.add(removed);
+        metrics.messagesDropped(removed);
+    }
+
+    private void drain() {
+        while (!closed.get() && sending.compareAndSet(false, true)) {
+            OutboundMessage next = queue.poll();
+            if (next != null) {
+                depth.decrementAndGet();
+                sendStartNanos = System.nanoTime();
+                try {
+                    sink.send(next, this);
+                } catch (RuntimeException e) {
+                    onResult(new SendResult(e));
+                }
+                return;
+            }
+            sending.set(false);
+            if (queue.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onResult(SendResult result) {
+        metrics.sendCompleted(System.nanoTime() - sendStartNanos, result.isOK());
+        if (!result.isOK()) {
+            failed.increment();
+        }
+        sending.set(false);
+        drain();
+    }
+
+    // Drops queued messages and closes the client; closing a session can block, so it runs off the
+    // publishing thread
+    void close() {
+        if (release()) {
+            Thread.ofVirtual().name("chat-close-" + sink.getId()).start(sink::close);
+        }
+    }
+
+    // Drops queued messages without touching the client, for sessions that are already closing;
+    // returns false if the channel was closed before
+    boolean release() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        discard(Integer.MAX_VALUE);
+        return true;
+    }
+
+    String getId() {
+        return sink.getId();
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    int getDepth() {
+        return depth.get();
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    long getFailed() {
+        return failed.sum();
+    }
+}
@@ -0,0 +1,60 @@
+package code.goldenhammer.chat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Shared by every recipient; each representation is built at most once per message
+public final class OutboundMessage {
+    private final String topic;
+    // Lazily filled caches; a racing thread may build the same value twice, which is harmless
+    private volatile String text;
+    private volatile ByteBuffer frame;
+
+    private OutboundMessage(String topic, String text, ByteBuffer frame) {
+        this.topic = topic;
+        this.text = text;
+        this.frame = frame;
+    }
+
+    public static OutboundMessage text(String text) {
+        return text("", text);
+    }
+
+    public static OutboundMessage text(String topic, String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Message text cannot be null");
+        }
+        return new OutboundMessage(topic, text, null);
+    }
+
+    public static OutboundMessage binary(String topic, ByteBuffer payload) {
+        if (payload == null) {
+            throw new IllegalArgumentException("Message payload cannot be null");
+        }
+        return new OutboundMessage(topic, null, ChatFrame.encode(topic, payload));
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    // Compatibility shim for text clients
+    public String getText() {
+        String current = text;
+        if (current == null) {
+            current = ChatFrame.decode(frame).getPayloadText();
+            text = current;
+        }
+        return current;
+    }
+
+    // Read-only view over the shared frame; only the position/limit are per recipient
+    public ByteBuffer getFrame() {
+        ByteBuffer current = frame;
+        if (current == null) {
+            current = ChatFrame.encode(topic, StandardCharsets.UTF_8.encode(text));
+            frame = current;
+        }
+        return current.asReadOnlyBuffer();
+    }
+}
@@ -0,0 +1,43 @@
+package code.goldenhammer.chat;
+
+import javax.websocket.CloseReason;
+import javax.websocket.SendHandler;
+import javax.websocket.Session;
+import java.io.IOException;
+
+public class SessionSink implements MessageSink {
+    private final Session session;
+    private volatile boolean binary;
+
+    public SessionSink(Session session) {
+        this.session = session;
+    }
+
+    @Override
+    public String getId() {
+        return session.getId();
+    }
+
+    // Clients that speak the binary frame format receive frames instead of text
+    public void preferBinary() {
+        binary = true;
+    }
+
+    @Override
+    public void send(OutboundMessage message, SendHandler handler) {
+        if (binary) {
+            session.getAsyncRemote().sendBinary(message.getFrame(), handler);
+        } else {
+            session.getAsyncRemote().sendText(message.getText(), handler);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            session.close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Slow consumer"));
+        } catch (IOException e) {
+            System.err.println("Failed to close session " + session.getId() + ": " + e.getMessage());
+        }
+    }
+}
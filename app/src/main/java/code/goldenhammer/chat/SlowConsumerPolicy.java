@@ -0,0 +1,10 @@
+package code.goldenhammer.chat;
+
+public enum SlowConsumerPolicy {
+    // Discard the oldest queued message to make room for the new one
+    DROP_OLDEST,
+    // Discard the whole backlog and keep only the newest message
+    COALESCE,
+    // Close the session once its queue is full
+    DISCONNECT
+}
@@ -0,0 +1,82 @@
+package code.goldenhammer.chat;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Topic -> subscribers as copy-on-write arrays; writers only contend on the same hash bin. Topics are
+// tracked per channel rather than per session id, so a replaced channel never drops its successor's topics.
+class SubscriptionIndex {
+    private static final OutboundChannel[] EMPTY = new OutboundChannel[0];
+
+    private final ConcurrentMap<String, OutboundChannel[]> subscribers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<OutboundChannel, Set<String>> topicsByChannel = new ConcurrentHashMap<>();
+
+    void subscribe(String topic, OutboundChannel channel) {
+        subscribers.compute(topic, (t, current) -> {
+            if (current == null) {
+                return new OutboundChannel[] {channel};
+            }
+            for (OutboundChannel existing : current) {
+                if (existing == channel) {
+                    return current;
+                }
+            }
+            OutboundChannel[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = channel;
+            return next;
+        });
+        // Added inside compute() so it cannot land in a set that unsubscribeAll has just removed
+        topicsByChannel.compute(channel, (c, topics) -> {
+            Set<String> current = topics == null ? ConcurrentHashMap.newKeySet() : topics;
+            current.add(topic);
+            return current;
+        });
+    }
+
+    void unsubscribe(String topic, OutboundChannel channel) {
+        subscribers.computeIfPresent(topic, (t, current) -> {
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == channel) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return current;
+            }
+            if (current.length == 1) {
+                return null;
+            }
+            OutboundChannel[] next = new OutboundChannel[current.length - 1];
+            System.arraycopy(current, 0, next, 0, index);
+            System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            return next;
+        });
+        Set<String> topics = topicsByChannel.get(channel);
+        if (topics != null) {
+            topics.remove(topic);
+        }
+    }
+
+    void unsubscribeAll(OutboundChannel channel) {
+        Set<String> topics = topicsByChannel.remove(channel);
+        if (topics != null) {
+            for (String topic : topics) {
+                unsubscribe(topic, channel);
+            }
+        }
+    }
+
+    // Returned array is never mutated, so callers may iterate it without locking
+    OutboundChannel[] subscribersOf(String topic) {
+        OutboundChannel[] current = subscribers.get(topic);
+        return current == null ? EMPTY : current;
+    }
+
+    int getTopicCount() {
+        return subscribers.size();
+    }
+}
@@ -0,0 +1,32 @@
+package code.goldenhammer.chat;
+
+// Optional text header: "topic:<name>\n<body>" routes the body to <name>
+public final class TopicHeader {
+    private static final String PREFIX = "topic:";
+
+    private final String topic;
+    private final String body;
+
+    private TopicHeader(String topic, String body) {
+        this.topic = topic;
+        this.body = body;
+    }
+
+    public static TopicHeader parse(String message, String defaultTopic) {
+        if (message.startsWith(PREFIX)) {
+            int newline = message.indexOf('\n');
+            if (newline > PREFIX.length()) {
+                return new TopicHeader(message.substring(PREFIX.length(), newline), message.substring(newline + 1));
+            }
+        }
+        return new TopicHeader(defaultTopic, message);
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getBody() {
+        return body;
+    }
+}
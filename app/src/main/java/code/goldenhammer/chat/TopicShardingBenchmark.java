@@ -0,0 +1,73 @@
+package code.goldenhammer.chat;
+
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Compares messages/sec of room-scoped publish against the all-sessions broadcast
+public class TopicShardingBenchmark {
+    private static final int SESSIONS = 10_000;
+    private static final int ROOMS = 100;
+    private static final int MESSAGES = 20_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        LongAdder deliveries = new LongAdder();
+        BroadcastEngine engine = new BroadcastEngine(1024, SlowConsumerPolicy.DROP_OLDEST);
+        for (int i = 0; i < SESSIONS; i++) {
+            String id = "session-" + i;
+            engine.register(new CountingSink(id, deliveries));
+            engine.subscribe(id, "room-" + (i % ROOMS));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            engine.broadcast("message " + i);
+        }
+        report("all-sessions broadcast", start, deliveries.sumThenReset());
+
+        start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            engine.publish("room-" + (i % ROOMS), "message " + i);
+        }
+        long expected = (long) MESSAGES * (SESSIONS / ROOMS);
+        while (deliveries.sum() < expected) {
+            Thread.onSpinWait();
+        }
+        report("sharded topic publish", start, deliveries.sumThenReset());
+
+        engine.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    private static void report(String label, long start, long delivered) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-24s %,12.0f msgs/sec %,14d deliveries%n", label, MESSAGES / seconds, delivered);
+    }
+
+    private static class CountingSink implements MessageSink {
+        private static final SendResult OK = new SendResult();
+
+        private final String id;
+        private final LongAdder deliveries;
+
+        CountingSink(String id, LongAdder deliveries) {
+            this.id = id;
+            this.deliveries = deliveries;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public void send(OutboundMessage message, SendHandler handler) {
+            deliveries.increment();
+            handler.onResult(OK);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package code.goldenhammer.singleton;
+
+public interface Appender {
+    void append(String message);
+
+    // The sequence is only valid for the duration of the call; appenders that keep it must copy it
+    default void append(CharSequence message) {
+        append(message.toString());
+    }
+
+    default void flush() {
+    }
+
+    default void close() {
+    }
+}
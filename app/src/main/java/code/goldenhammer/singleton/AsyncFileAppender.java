@@ -0,0 +1,182 @@
+package code.goldenhammer.singleton;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Callers only enqueue; a background thread drains batches into a FileChannel
+public class AsyncFileAppender implements Appender {
+    private static final int BATCH_SIZE = 256;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final MpscRingBuffer<String> ring;
+    private final FileChannel channel;
+    private final WaitStrategy waitStrategy;
+    private final OverflowPolicy overflowPolicy;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+    private final LongAdder dropped = new LongAdder();
+    // Appends that may have passed the running check; the drainer waits for them before its last drain
+    private final AtomicInteger appending = new AtomicInteger();
+    private final Thread drainer;
+    private volatile long written;
+    private volatile boolean running = true;
+    private volatile IOException failure;
+
+    public AsyncFileAppender(Path file, int capacity, WaitStrategy waitStrategy, OverflowPolicy overflowPolicy)
+            throws IOException {
+        this.ring = new MpscRingBuffer<>(capacity);
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.waitStrategy = waitStrategy;
+        this.overflowPolicy = overflowPolicy;
+        this.drainer = new Thread(this::drainLoop, "async-log-appender");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    @Override
+    public void append(String message) {
+        // Counted before running is read, so either close() waits for this append or it sees the close
+        appending.incrementAndGet();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Appender is closed");
+            }
+            int attempt = 0;
+            while (!ring.offer(message)) {
+                if (overflowPolicy == OverflowPolicy.DROP) {
+                    dropped.increment();
+                    return;
+                }
+                // The ring only empties while the drainer runs; waiting on a dead one would hang
+                if (!drainer.isAlive()) {
+                    checkFailure();
+                    throw new IllegalStateException("Appender is closed");
+                }
+                waitStrategy.idle(attempt++);
+            }
+        } finally {
+            appending.decrementAndGet();
+        }
+    }
+
+    // Blocks until everything appended before this call is written and forced to disk
+    @Override
+    public void flush() {
+        if (!running) {
+            throw new IllegalStateException("Appender is closed");
+        }
+        long target = ring.producedCount();
+        int attempt = 0;
+        while (written < target && drainer.isAlive()) {
+            waitStrategy.idle(attempt++);
+        }
+        checkFailure();
+        try {
+            channel.force(false);
+        } catch (ClosedChannelException e) {
+            throw new IllegalStateException("Appender is closed", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkFailure();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void drainLoop() {
+        int attempt = 0;
+        try {
+            // Keeps draining after close() until in-flight appends have landed, as some may wait for space
+            while (running || appending.get() > 0) {
+                if (drainBatch() > 0) {
+                    attempt = 0;
+                } else {
+                    waitStrategy.idle(attempt++);
+                }
+            }
+            while (drainBatch() > 0) {
+                // Pick up anything appended before close()
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            failure = e;
+        } catch (UncheckedIOException e) {
+            failure = e.getCause();
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+    }
+
+    private int drainBatch() throws IOException {
+        int drained = ring.drain(this::encode, BATCH_SIZE);
+        if (drained > 0) {
+            writeOut();
+            written = ring.consumedCount();
+        }
+        return drained;
+    }
+
+    private void encode(String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        try {
+            if (bytes.length + 1 > writeBuffer.remaining()) {
+                writeOut();
+            }
+            if (bytes.length + 1 > writeBuffer.capacity()) {
+                writeFully(ByteBuffer.wrap(bytes));
+                writeFully(ByteBuffer.wrap(new byte[] {'\n'}));
+                return;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        writeBuffer.put(bytes).put((byte) '\n');
+    }
+
+    private void writeOut() throws IOException {
+        writeBuffer.flip();
+        writeFully(writeBuffer);
+        writeBuffer.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new UncheckedIOException("Async log write failed", failure);
+        }
+    }
+}
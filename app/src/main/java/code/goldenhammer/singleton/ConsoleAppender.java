@@ -0,0 +1,56 @@
+package code.goldenhammer.singleton;
+
+public class ConsoleAppender implements Appender {
+    private static final ThreadLocal<byte[]> ENCODE_BUFFER = ThreadLocal.withInitial(() -> new byte[1024]);
+
+    @Override
+    public void append(String message) {
+        System.out.println(message);
+    }
+
+    // Encodes into a per-thread byte array so an enabled log call does not allocate a String
+    @Override
+    public void append(CharSequence message) {
+        byte[] buffer = ENCODE_BUFFER.get();
+        int worstCase = message.length() * 3 + 1;
+        if (buffer.length < worstCase) {
+            buffer = new byte[Math.max(worstCase, buffer.length * 2)];
+            ENCODE_BUFFER.set(buffer);
+        }
+        int length = encodeUtf8(message, buffer);
+        buffer[length++] = '\n';
+        System.out.write(buffer, 0, length);
+    }
+
+    @Override
+    public void flush() {
+        System.out.flush();
+    }
+
+    private static int encodeUtf8(CharSequence chars, byte[] out) {
+        int position = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            char c = chars.charAt(i);
+            if (c < 0x80) {
+                out[position++] = (byte) c;
+            } else if (c < 0x800) {
+                out[position++] = (byte) (0xC0 | (c >> 6));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < chars.length()
+                    && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+                out[position++] = (byte) (0xF0 | (codePoint >> 18));
+                out[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out[position++] = '?';
+            } else {
+                out[position++] = (byte) (0xE0 | (c >> 12));
+                out[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position;
+    }
+}
@@ -0,0 +1,9 @@
+package code.goldenhammer.singleton;
+
+public enum Level {
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR
+}
@@ -1,7 +1,195 @@
 package code.goldenhammer.singleton;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 public class Logger {
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024;
+
+    private final Appender appender;
+    private volatile Level threshold = Level.INFO;
+
+    public Logger() {
+        this(new ConsoleAppender());
+    }
+
+    public Logger(Appender appender) {
+        this.appender = appender;
+    }
+
+    public static Logger async(Path file) throws IOException {
+        return new Logger(new AsyncFileAppender(file, 8192, WaitStrategy.PARK, OverflowPolicy.BLOCK));
+    }
+
     public void log(String message) {
-        System.out.println(message);
+        appender.append(message);
+    }
+
+    public void setLevel(Level threshold) {
+        this.threshold = threshold;
+    }
+
+    public Level getLevel() {
+        return threshold;
+    }
+
+    public boolean isEnabled(Level level) {
+        return level.compareTo(threshold) >= 0;
+    }
+
+    // Every overload returns before touching its arguments when the level is disabled
+
+    public void log(Level level, String message) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        StringBuilder out = start(level);
+        out.append(message);
+        emit(out);
+    }
+
+    public void log(Level level, String template, Object arg) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        StringBuilder out = start(level);
+        int next = MessageFormatter.appendUntilPlaceholder(out, template, 0);
+        if (next >= 0) {
+            MessageFormatter.appendArgument(out, arg);
+        }
+        MessageFormatter.appendRemainder(out, template, next);
+        emit(out);
+    }
+
+    public void log(Level level, String template, long arg) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        StringBuilder out = start(level);
+        int next = MessageFormatter.appendUntilPlaceholder(out, template, 0);
+        if (next >= 0) {
+            out.append(arg);
+        }
+        MessageFormatter.appendRemainder(out, template, next);
+        emit(out);
+    }
+
+    public void log(Level level, String template, double arg) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        StringBuilder out = start(level);
+        int next = MessageFormatter.appendUntilPlaceholder(out, template, 0);
+        if (next >= 0) {
+            out.append(arg);
+        }
+        MessageFormatter.appendRemainder(out, template, next);
+        emit(out);
+    }
+
+    public void log(Level level, String template, boolean arg) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        StringBuilder out = start(level);
+        int next = MessageFormatter.appendUntilPlaceholder(out, template, 0);
+        if (next >= 0) {
+            out.append(arg);
+        }
+        MessageFormatter.appendRemainder(out, template, next);
+        emit(out);
+    }
+
+    public void log(Level level, String template, Object arg1, Object arg2) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        StringBuilder out = start(level);
+        int next = MessageFormatter.appendUntilPlaceholder(out, template, 0);
+        if (next >= 0) {
+            MessageFormatter.appendArgument(out, arg1);
+            next = MessageFormatter.appendUntilPlaceholder(out, template, next);
+        }
+        if (next >= 0) {
+            MessageFormatter.appendArgument(out, arg2);
+        }
+        MessageFormatter.appendRemainder(out, template, next);
+        emit(out);
+    }
+
+    public void log(Level level, String template, long arg1, long arg2) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        StringBuilder out = start(level);
+        int next = MessageFormatter.appendUntilPlaceholder(out, template, 0);
+        if (next >= 0) {
+            out.append(arg1);
+            next = MessageFormatter.appendUntilPlaceholder(out, template, next);
+        }
+        if (next >= 0) {
+            out.append(arg2);
+        }
+        MessageFormatter.appendRemainder(out, template, next);
+        emit(out);
+    }
+
+    public void log(Level level, String template, Object arg1, long arg2) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        StringBuilder out = start(level);
+        int next = MessageFormatter.appendUntilPlaceholder(out, template, 0);
+        if (next >= 0) {
+            MessageFormatter.appendArgument(out, arg1);
+            next = MessageFormatter.appendUntilPlaceholder(out, template, next);
+        }
+        if (next >= 0) {
+            out.append(arg2);
+        }
+        MessageFormatter.appendRemainder(out, template, next);
+        emit(out);
+    }
+
+    // Varargs allocates its array at the call site; prefer the fixed-arity overloads on hot paths
+    public void log(Level level, String template, Object... args) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        StringBuilder out = start(level);
+        int next = 0;
+        for (int i = 0; i < args.length && next >= 0; i++) {
+            next = MessageFormatter.appendUntilPlaceholder(out, template, next);
+            if (next >= 0) {
+                MessageFormatter.appendArgument(out, args[i]);
+            }
+        }
+        MessageFormatter.appendRemainder(out, template, next);
+        emit(out);
+    }
+
+    public void flush() {
+        appender.flush();
+    }
+
+    // Flushes pending output and releases the appender
+    public void close() {
+        appender.flush();
+        appender.close();
+    }
+
+    private static StringBuilder start(Level level) {
+        StringBuilder out = BUFFER.get();
+        if (out.capacity() > MAX_RETAINED_BUFFER) {
+            out = new StringBuilder(256);
+            BUFFER.set(out);
+        }
+        out.setLength(0);
+        return out.append(level.name()).append(' ');
+    }
+
+    private void emit(StringBuilder out) {
+        appender.append(out);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package code.goldenhammer.singleton;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+// Caller-side latency of the synchronous console path versus the async file appender
+public class LoggerBenchmark {
+    private static final int MESSAGES_PER_THREAD = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("logger-bench");
+        PrintStream console = System.out;
+        try (PrintStream sink = new PrintStream(new FileOutputStream(dir.resolve("console.log").toFile()), false)) {
+            for (int threads : new int[] {1, 8, 64}) {
+                System.setOut(sink);
+                long[] sync = run(new Logger(), threads);
+                System.setOut(console);
+                report("sync console", threads, sync);
+
+                for (WaitStrategy strategy : WaitStrategy.values()) {
+                    Path file = dir.resolve("async-" + strategy + "-" + threads + ".log");
+                    Logger logger = new Logger(new AsyncFileAppender(file, 16384, strategy, OverflowPolicy.BLOCK));
+                    long[] async = run(logger, threads);
+                    logger.close();
+                    report("async " + strategy.name().toLowerCase(), threads, async);
+                }
+            }
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    private static long[] run(Logger logger, int threads) throws InterruptedException {
+        long[] latencies = new long[threads * MESSAGES_PER_THREAD];
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int offset = t * MESSAGES_PER_THREAD;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < MESSAGES_PER_THREAD; i++) {
+                    long begin = System.nanoTime();
+                    logger.log("Application is running");
+                    latencies[offset + i] = System.nanoTime() - begin;
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static void report(String label, int threads, long[] sorted) {
+        System.out.printf("%-14s threads=%-3d p50=%,8dns p99=%,10dns p99.9=%,10dns%n",
+                label, threads,
+                sorted[sorted.length / 2],
+                sorted[(int) (sorted.length * 0.99)],
+                sorted[(int) (sorted.length * 0.999)]);
+    }
+}
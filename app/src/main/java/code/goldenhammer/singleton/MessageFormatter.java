@@ -0,0 +1,37 @@
+package code.goldenhammer.singleton;
+
+// Expands "{}" placeholders into a caller-supplied StringBuilder, one argument at a time
+final class MessageFormatter {
+    private static final String PLACEHOLDER = "{}";
+
+    private MessageFormatter() {
+    }
+
+    // Appends template text up to the next placeholder; returns the index after it, or -1 if none remain
+    static int appendUntilPlaceholder(StringBuilder out, String template, int from) {
+        if (from < 0) {
+            return -1;
+        }
+        int at = template.indexOf(PLACEHOLDER, from);
+        if (at < 0) {
+            out.append(template, from, template.length());
+            return -1;
+        }
+        out.append(template, from, at);
+        return at + PLACEHOLDER.length();
+    }
+
+    static void appendRemainder(StringBuilder out, String template, int from) {
+        if (from >= 0) {
+            out.append(template, from, template.length());
+        }
+    }
+
+    static void appendArgument(StringBuilder out, Object argument) {
+        if (argument instanceof CharSequence) {
+            out.append((CharSequence) argument);
+        } else {
+            out.append(argument);
+        }
+    }
+}
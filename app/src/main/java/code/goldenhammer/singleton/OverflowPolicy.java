@@ -0,0 +1,8 @@
+package code.goldenhammer.singleton;
+
+public enum OverflowPolicy {
+    // Discard the message and count it
+    DROP,
+    // Wait on the caller's thread until the drainer frees a slot
+    BLOCK
+}
@@ -0,0 +1,65 @@
+package code.goldenhammer.singleton;
+
+import java.lang.management.ManagementFactory;
+
+// Bytes allocated per call for concatenation versus the parameterized API, disabled and enabled
+public class StructuredLoggingBenchmark {
+    private static final int CALLS = 2_000_000;
+
+    public static void main(String[] args) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        CountingAppender appender = new CountingAppender();
+        Logger logger = new Logger(appender);
+
+        for (int round = 0; round < 3; round++) {
+            logger.setLevel(Level.WARN);
+            measure(threads, "disabled concatenation", () -> {
+                for (int i = 0; i < CALLS; i++) {
+                    logger.log(Level.DEBUG, "Order " + i + " total " + (i * 3L));
+                }
+            });
+            measure(threads, "disabled parameterized", () -> {
+                for (int i = 0; i < CALLS; i++) {
+                    logger.log(Level.DEBUG, "Order {} total {}", i, i * 3L);
+                }
+            });
+            logger.setLevel(Level.DEBUG);
+            measure(threads, "enabled concatenation", () -> {
+                for (int i = 0; i < CALLS; i++) {
+                    logger.log(Level.DEBUG, "Order " + i + " total " + (i * 3L));
+                }
+            });
+            measure(threads, "enabled parameterized", () -> {
+                for (int i = 0; i < CALLS; i++) {
+                    logger.log(Level.DEBUG, "Order {} total {}", i, i * 3L);
+                }
+            });
+        }
+        System.out.println("characters appended: " + appender.characters);
+    }
+
+    private static void measure(com.sun.management.ThreadMXBean threads, String label, Runnable body) {
+        long before = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        body.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        System.out.printf("%-24s %8.2f bytes/call %8.1f ns/call%n",
+                label, (double) allocated / CALLS, (double) elapsed / CALLS);
+    }
+
+    private static class CountingAppender implements Appender {
+        private long characters;
+
+        @Override
+        public void append(String message) {
+            characters += message.length();
+        }
+
+        @Override
+        public void append(CharSequence message) {
+            characters += message.length();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package code.goldenhammer.singleton;
+
+import java.util.concurrent.locks.LockSupport;
+
+public enum WaitStrategy {
+    // Lowest latency, burns a core while idle
+    SPIN {
+        @Override
+        void idle(int attempt) {
+            Thread.onSpinWait();
+        }
+    },
+    // Spins briefly, then gives up the time slice
+    YIELD {
+        @Override
+        void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+    // Spins briefly, then sleeps; cheapest on CPU, highest wake-up latency
+    PARK {
+        @Override
+        void idle(int attempt) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    abstract void idle(int attempt);
+}
@@ -1,5 +1,8 @@
 package code.primitiveobsession;
 
+import code.primitiveobsession.validation.ValidationErrors;
+import code.primitiveobsession.validation.Validators;
+
 public class Address {
     private Street street;
     private City city;
@@ -11,6 +14,17 @@ public class Address {
         this.postalCode = postalCode;
     }
 
+    // Checks every field first and reports all problems together instead of failing on the first.
+    // Streets are mostly unique, so interning them costs more than it saves; cities and postal codes repeat.
+    public static Address of(String street, String city, String postalCode) {
+        new ValidationErrors()
+                .check("street", street, Validators.NOT_EMPTY, "Street name cannot be empty")
+                .check("city", city, Validators.NOT_EMPTY, "City name cannot be empty")
+                .check("postalCode", postalCode, Validators.POSTAL_CODE, "Invalid postal code")
+                .throwIfAny();
+        return new Address(new Street(street), City.of(city), PostalCode.of(postalCode));
+    }
+
     public Street getStreet() {
         return street;
     }
@@ -25,55 +39,117 @@ public class Address {
 
     public static void main(String[] args) {
         Street street = new Street("123 Main St");
-        City city = new City("New York");
-        PostalCode postalCode = new PostalCode("10001");
+        City city = City.of("New York");
+        PostalCode postalCode = PostalCode.of("10001");
         Address address = new Address(street, city, postalCode);
 
         System.out.println("Address: " + address.getStreet().getName() + ", " + address.getCity().getName() + ", " + address.getPostalCode().getCode());
     }
 }
 
+// Value types compare by value. Instances from of() are also canonical while in use, so == works between
+// them; instances built with the constructor are not interned.
 class Street {
+    private static final Interner<Street> INTERNER = new Interner<>(Street::new);
+
     private String name;
 
     public Street(String name) {
-        if (name == null || name.isEmpty()) {
+        if (!Validators.NOT_EMPTY.isValid(name)) {
             throw new IllegalArgumentException("Street name cannot be empty");
         }
         this.name = name;
     }
 
+    public static Street of(String name) {
+        return INTERNER.intern(name);
+    }
+
+    static Interner<Street> interner() {
+        return INTERNER;
+    }
+
     public String getName() {
         return name;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Street other && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
 }
 
 class City {
+    private static final Interner<City> INTERNER = new Interner<>(City::new);
+
     private String name;
 
     public City(String name) {
-        if (name == null || name.isEmpty()) {
+        if (!Validators.NOT_EMPTY.isValid(name)) {
             throw new IllegalArgumentException("City name cannot be empty");
         }
         this.name = name;
     }
 
+    public static City of(String name) {
+        return INTERNER.intern(name);
+    }
+
+    static Interner<City> interner() {
+        return INTERNER;
+    }
+
     public String getName() {
         return name;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof City other && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
 }
 
 class PostalCode {
+    private static final Interner<PostalCode> INTERNER = new Interner<>(PostalCode::new);
+
     private String code;
 
     public PostalCode(String code) {
-        if (!code.matches("\\d{5}")) {
+        if (!Validators.POSTAL_CODE.isValid(code)) {
             throw new IllegalArgumentException("Invalid postal code");
         }
         this.code = code;
     }
 
+    public static PostalCode of(String code) {
+        return INTERNER.intern(code);
+    }
+
+    static Interner<PostalCode> interner() {
+        return INTERNER;
+    }
+
     public String getCode() {
         return code;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof PostalCode other && code.equals(other.code);
+    }
+
+    @Override
+    public int hashCode() {
+        return code.hashCode();
+    }
+}
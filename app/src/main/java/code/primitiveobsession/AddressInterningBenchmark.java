@@ -0,0 +1,109 @@
+package code.primitiveobsession;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+// Loads the same synthetic address dataset with plain constructors and with the interning factories,
+// then reports retained heap, load time and the class histogram for the value types.
+// Cities and postal codes repeat heavily; streets (house number + street name) mostly do not.
+// Run with: java code.primitiveobsession.AddressInterningBenchmark [addresses]
+public class AddressInterningBenchmark {
+    private static final int CITIES = 300;
+    private static final int POSTAL_CODES_PER_CITY = 20;
+    private static final int STREET_NAMES = 3_000;
+    private static final String[] SUFFIXES = {"St", "Ave", "Rd", "Blvd", "Ln"};
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        // Smaller unreported runs warm up the JIT; their interned values must be collected before measuring
+        for (Mode mode : Mode.values()) {
+            load(count / 5, mode, false);
+        }
+        usedHeap();
+        Thread.sleep(200);
+        Street.interner().size();
+        City.interner().size();
+        PostalCode.interner().size();
+
+        for (Mode mode : Mode.values()) {
+            load(count, mode, true);
+            usedHeap();
+            Thread.sleep(200);
+        }
+    }
+
+    private enum Mode {
+        CONSTRUCTORS("constructors"),
+        INTERN_ALL("intern all"),
+        INTERN_CITY_POSTAL("intern city+postal");
+
+        private final String label;
+
+        Mode(String label) {
+            this.label = label;
+        }
+    }
+
+    private static void load(int count, Mode mode, boolean report) throws Exception {
+        long heapBefore = usedHeap();
+        SplittableRandom random = new SplittableRandom(17);
+        Address[] addresses = new Address[count];
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            // Skewed towards the first cities, as real address data is towards big cities
+            double skew = random.nextDouble();
+            int city = (int) (skew * skew * CITIES);
+            int postal = city * POSTAL_CODES_PER_CITY + random.nextInt(POSTAL_CODES_PER_CITY);
+            // Strings are built per row, as a parser would produce them
+            String streetText = (1 + random.nextInt(999)) + " Street" + random.nextInt(STREET_NAMES) + " "
+                    + SUFFIXES[random.nextInt(SUFFIXES.length)];
+            String cityText = "City " + city;
+            String postalText = String.format("%05d", 10_000 + postal);
+            addresses[i] = switch (mode) {
+                case CONSTRUCTORS -> new Address(new Street(streetText), new City(cityText), new PostalCode(postalText));
+                case INTERN_ALL -> new Address(Street.of(streetText), City.of(cityText), PostalCode.of(postalText));
+                case INTERN_CITY_POSTAL -> new Address(new Street(streetText), City.of(cityText), PostalCode.of(postalText));
+            };
+        }
+        long elapsed = System.nanoTime() - start;
+        long retained = usedHeap() - heapBefore;
+        if (report) {
+            System.out.printf("%s: %,d addresses in %.0f ms (%.0f ns/address), retained %,d bytes (%.1f bytes/address)%n",
+                    mode.label, count, elapsed / 1e6,
+                    (double) elapsed / count, retained, (double) retained / count);
+            if (mode != Mode.CONSTRUCTORS) {
+                System.out.printf("  cached: %,d streets, %,d cities, %,d postal codes%n",
+                        Street.interner().size(), City.interner().size(), PostalCode.interner().size());
+            }
+            printHistogram();
+        }
+        // Keep the dataset reachable until it has been measured
+        if (addresses[count - 1] == null) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static void printHistogram() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName diagnostics = new ObjectName("com.sun.management:type=DiagnosticCommand");
+        String histogram = (String) server.invoke(diagnostics, "gcClassHistogram",
+                new Object[] {new String[0]}, new String[] {String[].class.getName()});
+        for (String line : histogram.split("\n")) {
+            if (line.matches(".*code\\.primitiveobsession\\.(Address|Street|City|PostalCode|Interner\\$Entry)\\s*")
+                    || line.contains(" java.lang.String ") || line.contains(" java.util.concurrent.ConcurrentHashMap$Node ")
+                    || line.matches(".*\\s\\[B\\s.*")) {
+                System.out.println("  " + line.trim());
+            }
+        }
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
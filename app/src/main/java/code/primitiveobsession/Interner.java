@@ -0,0 +1,84 @@
+package code.primitiveobsession;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Canonicalizing table for immutable value objects keyed by their text. Entries are weakly held, so a
+// value nobody references any more is evicted by the GC and the table never outgrows the live values;
+// while an instance is alive every lookup of its key returns that same instance.
+public final class Interner<T> {
+    private final ConcurrentMap<String, Entry<T>> table = new ConcurrentHashMap<>();
+    private final ReferenceQueue<T> collected = new ReferenceQueue<>();
+    private final Function<String, T> factory;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public Interner(Function<String, T> factory) {
+        this.factory = factory;
+    }
+
+    public T intern(String key) {
+        if (key == null) {
+            // Let the factory reject it with its usual message
+            return factory.apply(null);
+        }
+        expungeCollected();
+        Entry<T> entry = table.get(key);
+        T existing = entry != null ? entry.get() : null;
+        if (existing != null) {
+            hits.increment();
+            return existing;
+        }
+        // Built outside the map so a validation failure in the factory leaves the table untouched
+        T created = factory.apply(key);
+        misses.increment();
+        Object[] winner = new Object[1];
+        table.compute(key, (k, current) -> {
+            T live = current != null ? current.get() : null;
+            if (live != null) {
+                winner[0] = live;
+                return current;
+            }
+            winner[0] = created;
+            return new Entry<>(k, created, collected);
+        });
+        @SuppressWarnings("unchecked")
+        T result = (T) winner[0];
+        return result;
+    }
+
+    public int size() {
+        expungeCollected();
+        return table.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private void expungeCollected() {
+        Object reference;
+        while ((reference = collected.poll()) != null) {
+            @SuppressWarnings("unchecked")
+            Entry<T> entry = (Entry<T>) reference;
+            table.remove(entry.key, entry);
+        }
+    }
+
+    private static final class Entry<T> extends WeakReference<T> {
+        private final String key;
+
+        Entry(String key, T value, ReferenceQueue<T> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package code.primitiveobsession.contactphone;
 
+import code.primitiveobsession.validation.Validators;
+
 public class PhoneNumber {
     private String value;
 
     public PhoneNumber(String value) {
-        if (!value.matches("\\d{10}")) {
+        if (!Validators.PHONE_NUMBER.isValid(value)) {
             throw new IllegalArgumentException("Invalid phone number");
         }
         this.value = value;
@@ -1,22 +1,195 @@
 package code.primitiveobsession.customer;
 
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
-public class CustomerID {
+// 128-bit id held as two longs in UUIDv7 layout: a 48-bit millisecond timestamp, a 12-bit per-thread
+// sequence and 62 random bits. Ids sort by creation time (unsigned, high word first), so inserts into a
+// B-tree index land at the right-hand edge. The text form is rendered only when asked for.
+public final class CustomerID implements Comparable<CustomerID> {
+    private static final ThreadLocal<GeneratorState> GENERATOR = ThreadLocal.withInitial(GeneratorState::new);
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long high;
+    private final long low;
+    // Cached text; racy but safe, as String is immutable
     private String value;
 
+    // UUID text is accepted in either case and getValue() returns it in lowercase, so equal ids have equal
+    // text. Any other non-empty string is a legacy id: its bits are the name-based UUID of the string, and
+    // this instance keeps the string as its value. An id rebuilt from those bits renders as the UUID.
     public CustomerID(String value) {
         if (value == null || value.isEmpty()) {
             throw new IllegalArgumentException("Customer ID cannot be empty");
         }
-        this.value = value;
+        if (isUuidText(value)) {
+            this.high = (parseHex(value, 0, 8) << 32) | (parseHex(value, 9, 13) << 16) | parseHex(value, 14, 18);
+            this.low = (parseHex(value, 19, 23) << 48) | parseHex(value, 24, 36);
+            // Mixed or upper case is rendered again in lowercase on first use
+            this.value = isLowerCase(value) ? value : null;
+        } else {
+            UUID legacy = UUID.nameUUIDFromBytes(value.getBytes(StandardCharsets.UTF_8));
+            this.high = legacy.getMostSignificantBits();
+            this.low = legacy.getLeastSignificantBits();
+            this.value = value;
+        }
+    }
+
+    public CustomerID(long high, long low) {
+        this.high = high;
+        this.low = low;
     }
 
     public static CustomerID generate() {
-        return new CustomerID(UUID.randomUUID().toString());
+        GeneratorState state = GENERATOR.get();
+        long millis = System.currentTimeMillis();
+        if (millis > state.lastMillis) {
+            state.lastMillis = millis;
+            // Start low in the range so the sequence rarely runs out within one millisecond
+            state.sequence = ThreadLocalRandom.current().nextInt(0x400);
+        } else if (++state.sequence > 0xFFF) {
+            // Sequence exhausted or clock went back: borrow the next millisecond to stay monotonic
+            state.lastMillis++;
+            state.sequence = 0;
+        }
+        long high = (state.lastMillis << 16) | 0x7000L | state.sequence;
+        long low = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new CustomerID(high, low);
+    }
+
+    public static CustomerID fromUuid(UUID uuid) {
+        return new CustomerID(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    // Big-endian, so byte-wise unsigned comparison gives the same order as compareTo
+    public static CustomerID fromBytes(byte[] bytes) {
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("Customer ID must be 16 bytes");
+        }
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < 8; i++) {
+            high = (high << 8) | (bytes[i] & 0xFF);
+            low = (low << 8) | (bytes[i + 8] & 0xFF);
+        }
+        return new CustomerID(high, low);
     }
 
     public String getValue() {
-        return value;
+        String text = value;
+        if (text == null) {
+            char[] chars = new char[36];
+            writeHex(chars, 0, high >>> 32, 8);
+            chars[8] = '-';
+            writeHex(chars, 9, high >>> 16, 4);
+            chars[13] = '-';
+            writeHex(chars, 14, high, 4);
+            chars[18] = '-';
+            writeHex(chars, 19, low >>> 48, 4);
+            chars[23] = '-';
+            writeHex(chars, 24, low, 12);
+            text = new String(chars);
+            value = text;
+        }
+        return text;
+    }
+
+    public long getMostSignificantBits() {
+        return high;
+    }
+
+    public long getLeastSignificantBits() {
+        return low;
+    }
+
+    // Creation time for generated ids; meaningless for ids parsed from other UUID versions
+    public long getTimestampMillis() {
+        return high >>> 16;
+    }
+
+    public UUID toUuid() {
+        return new UUID(high, low);
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (high >>> (56 - 8 * i));
+            bytes[i + 8] = (byte) (low >>> (56 - 8 * i));
+        }
+        return bytes;
+    }
+
+    @Override
+    public int compareTo(CustomerID other) {
+        int byHigh = Long.compareUnsigned(high, other.high);
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(low, other.low);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CustomerID other && high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash(high, low);
+    }
+
+    // The low word is mostly random already; the multiply folds in the high word cheaply
+    static int hash(long high, long low) {
+        long mixed = (high * 0x9E3779B97F4A7C15L) ^ low;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    private static boolean isUuidText(String text) {
+        if (text.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = text.charAt(i);
+            boolean dash = i == 8 || i == 13 || i == 18 || i == 23;
+            // ASCII only: Character.digit would also accept other scripts' digits
+            if (dash ? c != '-' : c >= 128 || Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLowerCase(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 'A' && text.charAt(i) <= 'F') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Only called on text that isUuidText accepted
+    private static long parseHex(String text, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            result = (result << 4) | Character.digit(text.charAt(i), 16);
+        }
+        return result;
+    }
+
+    private static void writeHex(char[] chars, int offset, long bits, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (bits & 0xF)];
+            bits >>>= 4;
+        }
+    }
+
+    private static final class GeneratorState {
+        long lastMillis;
+        int sequence;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package code.primitiveobsession.customer;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Ids/sec across thread counts for UUID.randomUUID().toString() versus CustomerID.generate(),
+// retained bytes per id, and how often a new id sorts after the previous one (sequential B-tree inserts).
+// Run with: java code.primitiveobsession.customer.CustomerIdBenchmark [seconds]
+public class CustomerIdBenchmark {
+    private static final int[] THREADS = {1, 2, 4, 8};
+    private static final int RETAINED = 1_000_000;
+
+    // Keeps results alive so the JIT cannot drop the measured work
+    private static volatile Object sink;
+
+    public static void main(String[] args) throws InterruptedException {
+        double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 1;
+
+        System.out.printf("%-26s %8s %16s%n", "generator", "threads", "ids/s");
+        for (int round = 0; round < 2; round++) {
+            // First round warms up the JIT
+            boolean report = round == 1;
+            for (int threads : THREADS) {
+                run(report, "randomUUID().toString()", threads, seconds, () -> UUID.randomUUID().toString());
+                run(report, "CustomerID.generate()", threads, seconds, CustomerID::generate);
+                run(report, "generate().getValue()", threads, seconds, () -> CustomerID.generate().getValue());
+            }
+        }
+
+        System.out.printf("%nretained bytes per id: string %.1f, two longs %.1f, two longs + text %.1f%n",
+                retained(() -> new LegacyId(UUID.randomUUID().toString())),
+                retained(CustomerID::generate),
+                retained(() -> {
+                    CustomerID id = CustomerID.generate();
+                    id.getValue();
+                    return id;
+                }));
+
+        System.out.printf("ascending inserts: randomUUID %.1f%%, CustomerID %.1f%%%n",
+                ascending(() -> CustomerID.fromUuid(UUID.randomUUID())), ascending(CustomerID::generate));
+    }
+
+    private static void run(boolean report, String label, int threads, double seconds, Supplier<Object> generator)
+            throws InterruptedException {
+        AtomicLong generated = new AtomicLong();
+        long deadline = System.nanoTime() + (long) (seconds * 1e9);
+        CountDownLatch done = new CountDownLatch(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            Thread.ofPlatform().start(() -> {
+                long count = 0;
+                Object last = null;
+                while ((count & 0xFF) != 0 || System.nanoTime() < deadline) {
+                    last = generator.get();
+                    count++;
+                }
+                sink = last;
+                generated.addAndGet(count);
+                done.countDown();
+            });
+        }
+        done.await();
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        if (report) {
+            System.out.printf("%-26s %8d %,16.0f%n", label, threads, generated.get() / elapsed);
+        }
+    }
+
+    private static double retained(Supplier<Object> generator) {
+        long before = usedHeap();
+        Object[] ids = new Object[RETAINED];
+        for (int i = 0; i < RETAINED; i++) {
+            ids[i] = generator.get();
+        }
+        long after = usedHeap();
+        sink = ids;
+        // Subtract the holding array's references
+        return (double) (after - before) / RETAINED - 4;
+    }
+
+    private static double ascending(Supplier<CustomerID> generator) {
+        CustomerID previous = generator.get();
+        int ascending = 0;
+        for (int i = 0; i < RETAINED; i++) {
+            CustomerID next = generator.get();
+            if (next.compareTo(previous) > 0) {
+                ascending++;
+            }
+            previous = next;
+        }
+        return 100.0 * ascending / RETAINED;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // The previous representation: a String field holding the 36-character text
+    private static final class LegacyId {
+        private final String value;
+
+        LegacyId(String value) {
+            this.value = value;
+        }
+    }
+}
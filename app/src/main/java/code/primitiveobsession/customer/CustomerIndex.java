@@ -0,0 +1,513 @@
+package code.primitiveobsession.customer;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+// In-memory customer lookup by id and by email. Each record is written off-heap as one contiguous entry
+// (a version, the name and email lengths, the id words, then the UTF-8 text) so reading it back touches a
+// single place. The id table stores the two id words inline next to the record's address, so a hit costs
+// one table probe plus the record itself; the email table stores the email hash next to the address.
+// Writes are serialized (one writer at a time); any number of threads may read concurrently without
+// locking. A record is fully written before the table slot pointing at it is published with release
+// semantics, and tables are rebuilt off to the side and swapped in when they grow.
+// Records replaced by put() go on a free list for their size class and are rewritten by later puts. A
+// rewrite makes the record's version odd while it runs, so a reader that followed a stale address copies
+// the record, checks the version is even and unchanged, checks the copy belongs to the key it looked up,
+// and otherwise starts over. Lookups that fill a caller-supplied CustomerRecord allocate nothing.
+public class CustomerIndex implements AutoCloseable {
+    private static final long VERSION_OFFSET = 0;
+    private static final long NAME_LENGTH_OFFSET = 4;
+    private static final long EMAIL_LENGTH_OFFSET = 6;
+    private static final long HIGH_OFFSET = 8;
+    private static final long LOW_OFFSET = 16;
+    private static final int HEADER_BYTES = 24;
+    private static final int RECORD_ALIGNMENT = 16;
+    private static final int MAX_RECORD_BYTES = 1 << 16;
+    private static final int CHUNK_BITS = 22;
+    private static final int CHUNK_BYTES = 1 << CHUNK_BITS;
+    // Addresses are chunk << CHUNK_BITS | offset as a long, so records are not limited to 2 GB
+    private static final int MAX_CHUNKS = 1 << 20;
+    private static final ValueLayout.OfLong WORD = ValueLayout.JAVA_LONG_UNALIGNED;
+    // Lengths are unsigned 16-bit; a whole record is at most MAX_RECORD_BYTES
+    private static final ValueLayout.OfShort LENGTH = ValueLayout.JAVA_SHORT_UNALIGNED;
+    private static final VarHandle VERSION = MethodHandles.memorySegmentViewVarHandle(ValueLayout.JAVA_INT);
+    // Table references are address + 1, so zero is empty and -1 a removed email entry
+    private static final long EMPTY = 0;
+    private static final long REMOVED = -1;
+    private static final int ID_STRIDE = 3;
+    private static final int EMAIL_STRIDE = 2;
+    // Largest power-of-two slot count whose id table still fits in a Java array
+    private static final int MAX_SLOTS = Integer.highestOneBit((Integer.MAX_VALUE - 8) / ID_STRIDE);
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(long[].class);
+    // Reads eight key bytes in the same byte order as WORD reads them from a record
+    private static final VarHandle KEY_WORD =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final Arena arena = Arena.ofShared();
+    // Grown by doubling; entries below chunkCount are filled before any address in them is published
+    private volatile MemorySegment[] chunks = new MemorySegment[16];
+    private volatile int chunkCount;
+    private volatile Tables tables;
+    private volatile int size;
+    // Odd while a record is being rewritten; an email lookup that misses retries if it was odd or moved
+    private volatile long rewrites;
+
+    // Writer state, guarded by this
+    private int chunkOffset = CHUNK_BYTES;
+    private int removedEmails;
+    private final long[][] freeRecords = new long[MAX_RECORD_BYTES / RECORD_ALIGNMENT + 1][];
+    private final int[] freeCounts = new int[MAX_RECORD_BYTES / RECORD_ALIGNMENT + 1];
+    private long freeBytes;
+
+    public CustomerIndex(int expectedCustomers) {
+        tables = new Tables(tableCapacity(expectedCustomers));
+    }
+
+    // Adds a customer, or replaces the name and email of an existing id
+    public synchronized void put(CustomerID id, String name, String email) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] emailBytes = normalizeEmail(email).getBytes(StandardCharsets.UTF_8);
+        if (HEADER_BYTES + nameBytes.length + emailBytes.length > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Customer name and email are too long");
+        }
+        int emailHash = hash(emailBytes, emailBytes.length);
+
+        ensureCapacity();
+        Tables current = tables;
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+        int idSlot = findIdSlot(current, high, low);
+        long existing = current.ids[idSlot + 2] - 1;
+        int emailSlot = findEmailSlot(current, emailBytes, emailHash);
+        long emailOwner = addressOf(current.emails[emailSlot + 1]);
+        if (emailOwner >= 0 && emailOwner != existing) {
+            throw new IllegalArgumentException("Email " + email + " already belongs to customer " + readId(emailOwner));
+        }
+
+        long record = writeRecord(high, low, nameBytes, emailBytes);
+        if (existing >= 0 && emailOwner < 0) {
+            // The customer changed email: retire the old entry
+            byte[] oldEmail = readEmailBytes(existing);
+            int oldSlot = findEmailSlot(current, oldEmail, hash(oldEmail, oldEmail.length));
+            SLOT.setRelease(current.emails, oldSlot + 1, REMOVED);
+            removedEmails++;
+        }
+        current.emails[emailSlot] = emailHash;
+        SLOT.setRelease(current.emails, emailSlot + 1, record + 1);
+        if (existing < 0) {
+            current.ids[idSlot] = high;
+            current.ids[idSlot + 1] = low;
+        }
+        SLOT.setRelease(current.ids, idSlot + 2, record + 1);
+        if (existing >= 0) {
+            // Nothing points at the old record any more; readers still holding its address will notice
+            // the rewrite
+            free(existing);
+        } else {
+            size++;
+        }
+    }
+
+    public CustomerRecord get(CustomerID id) {
+        CustomerRecord record = new CustomerRecord();
+        return get(id, record) ? record : null;
+    }
+
+    // Fills the given record; false, with the record cleared, if the id is unknown
+    public boolean get(CustomerID id, CustomerRecord into) {
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+        while (true) {
+            long address = findAddress(high, low);
+            if (address < 0) {
+                into.clear();
+                return false;
+            }
+            // A mismatch means the address was stale and the record has been rewritten for someone else
+            if (copyRecord(address, into) && into.hasId(high, low)) {
+                into.reuseId(id);
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    public boolean contains(CustomerID id) {
+        return findAddress(id.getMostSignificantBits(), id.getLeastSignificantBits()) >= 0;
+    }
+
+    public CustomerRecord findByEmail(String email) {
+        CustomerRecord record = new CustomerRecord();
+        return findByEmail(email, record) ? record : null;
+    }
+
+    // Fills the given record; false, with the record cleared, if no customer has the email
+    public boolean findByEmail(String email, CustomerRecord into) {
+        if (email == null) {
+            throw new IllegalArgumentException("Email cannot be empty");
+        }
+        byte[] key = into.keyBuffer(email.length());
+        int length = normalizeAscii(email, key);
+        if (length < 0) {
+            key = normalizeEmail(email).getBytes(StandardCharsets.UTF_8);
+            length = key.length;
+        }
+        int emailHash = hash(key, length);
+        while (true) {
+            long rewritesBefore = rewrites;
+            long address = findEmailAddress(tables, key, length, emailHash);
+            if (address >= 0) {
+                if (copyRecord(address, into) && into.emailEquals(key, length)) {
+                    return true;
+                }
+            } else {
+                // The probe compares emails in records, so a rewrite during it could hide a match
+                VarHandle.loadLoadFence();
+                if ((rewritesBefore & 1) == 0 && rewritesBefore == rewrites) {
+                    into.clear();
+                    return false;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Off-heap bytes reserved for records
+    public long offHeapBytes() {
+        return (long) chunkCount * CHUNK_BYTES;
+    }
+
+    // Off-heap bytes in replaced records waiting to be rewritten
+    public synchronized long freeBytes() {
+        return freeBytes;
+    }
+
+    static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            throw new IllegalArgumentException("Email cannot be empty");
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Same result as normalizeEmail(email) encoded as UTF-8, written into key without creating Strings;
+    // -1 for anything but plain non-blank ASCII, which takes the general path
+    private static int normalizeAscii(String email, byte[] key) {
+        int from = 0;
+        int to = email.length();
+        while (from < to && email.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && email.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        if (from == to) {
+            return -1;
+        }
+        for (int i = from; i < to; i++) {
+            char c = email.charAt(i);
+            if (c >= 0x80) {
+                return -1;
+            }
+            key[i - from] = (byte) (c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c);
+        }
+        return to - from;
+    }
+
+    private long findAddress(long high, long low) {
+        Tables current = tables;
+        int mask = current.slots - 1;
+        for (int slot = spread(CustomerID.hash(high, low)) & mask; ; slot = (slot + 1) & mask) {
+            int base = slot * ID_STRIDE;
+            long reference = (long) SLOT.getAcquire(current.ids, base + 2);
+            if (reference == EMPTY) {
+                return -1;
+            }
+            if (current.ids[base + 1] == low && current.ids[base] == high) {
+                return reference - 1;
+            }
+        }
+    }
+
+    // Address of the record whose email matched in place; the caller confirms on a consistent copy
+    private long findEmailAddress(Tables current, byte[] key, int length, int emailHash) {
+        int mask = current.slots - 1;
+        for (int slot = emailHash & mask; ; slot = (slot + 1) & mask) {
+            int base = slot * EMAIL_STRIDE;
+            long reference = (long) SLOT.getAcquire(current.emails, base + 1);
+            if (reference == EMPTY) {
+                return -1;
+            }
+            long address = addressOf(reference);
+            if (address >= 0 && (int) current.emails[base] == emailHash && emailMatches(address, key, length)) {
+                return address;
+            }
+        }
+    }
+
+    // Array index of the slot holding the id, or of the empty slot where it belongs
+    private static int findIdSlot(Tables current, long high, long low) {
+        int mask = current.slots - 1;
+        int slot = spread(CustomerID.hash(high, low)) & mask;
+        while (current.ids[slot * ID_STRIDE + 2] != EMPTY
+                && (current.ids[slot * ID_STRIDE] != high || current.ids[slot * ID_STRIDE + 1] != low)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot * ID_STRIDE;
+    }
+
+    // Array index of the slot holding the email, or of the empty slot where it belongs; removed entries
+    // are skipped, not reused
+    private int findEmailSlot(Tables current, byte[] emailBytes, int emailHash) {
+        int mask = current.slots - 1;
+        int slot = emailHash & mask;
+        while (true) {
+            int base = slot * EMAIL_STRIDE;
+            long reference = current.emails[base + 1];
+            long address = addressOf(reference);
+            if (reference == EMPTY || (address >= 0 && (int) current.emails[base] == emailHash
+                    && emailMatches(address, emailBytes, emailBytes.length))) {
+                return base;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    // Record address of a table reference, or a negative value for empty and removed entries
+    private static long addressOf(long reference) {
+        return reference == REMOVED ? -2 : reference - 1;
+    }
+
+    // Keeps both tables at most half full, counting removed email entries, by rebuilding them larger
+    private void ensureCapacity() {
+        Tables current = tables;
+        if ((size + 1L + removedEmails) * 2 <= current.slots) {
+            return;
+        }
+        Tables grown = new Tables(tableCapacity((size + 1) * 2));
+        for (int base = 0; base < current.ids.length; base += ID_STRIDE) {
+            long reference = current.ids[base + 2];
+            if (reference == EMPTY) {
+                continue;
+            }
+            int slot = findIdSlot(grown, current.ids[base], current.ids[base + 1]);
+            grown.ids[slot] = current.ids[base];
+            grown.ids[slot + 1] = current.ids[base + 1];
+            grown.ids[slot + 2] = reference;
+            byte[] email = readEmailBytes(reference - 1);
+            int emailHash = hash(email, email.length);
+            int emailSlot = findEmailSlot(grown, email, emailHash);
+            grown.emails[emailSlot] = emailHash;
+            grown.emails[emailSlot + 1] = reference;
+        }
+        tables = grown;
+        removedEmails = 0;
+    }
+
+    // Writes the record into a free one of its size class if there is one, otherwise into fresh space
+    private long writeRecord(long high, long low, byte[] nameBytes, byte[] emailBytes) {
+        int sizeClass = sizeClass(HEADER_BYTES + nameBytes.length + emailBytes.length);
+        long record;
+        MemorySegment segment;
+        long base;
+        int version;
+        if (freeCounts[sizeClass] > 0) {
+            record = freeRecords[sizeClass][--freeCounts[sizeClass]];
+            freeBytes -= (long) sizeClass * RECORD_ALIGNMENT;
+            segment = chunkOf(record);
+            base = offsetOf(record);
+            version = (int) VERSION.get(segment, base + VERSION_OFFSET) + 1;
+            // Odd while the rewrite runs; the fence keeps the text from being written before it
+            rewrites++;
+            VERSION.setOpaque(segment, base + VERSION_OFFSET, version);
+            VarHandle.storeStoreFence();
+        } else {
+            record = allocate(sizeClass * RECORD_ALIGNMENT);
+            segment = chunkOf(record);
+            base = offsetOf(record);
+            version = -1;
+        }
+        segment.set(LENGTH, base + NAME_LENGTH_OFFSET, (short) nameBytes.length);
+        segment.set(LENGTH, base + EMAIL_LENGTH_OFFSET, (short) emailBytes.length);
+        segment.set(WORD, base + HIGH_OFFSET, high);
+        segment.set(WORD, base + LOW_OFFSET, low);
+        MemorySegment.copy(nameBytes, 0, segment, ValueLayout.JAVA_BYTE, base + HEADER_BYTES, nameBytes.length);
+        MemorySegment.copy(emailBytes, 0, segment, ValueLayout.JAVA_BYTE,
+                base + HEADER_BYTES + nameBytes.length, emailBytes.length);
+        VERSION.setRelease(segment, base + VERSION_OFFSET, version + 1);
+        if (version >= 0) {
+            rewrites++;
+        }
+        return record;
+    }
+
+    private long allocate(int bytes) {
+        if (chunkOffset + bytes > CHUNK_BYTES) {
+            int count = chunkCount;
+            if (count == MAX_CHUNKS) {
+                throw new IllegalStateException("Customer index is full");
+            }
+            MemorySegment[] current = chunks;
+            if (count == current.length) {
+                current = Arrays.copyOf(current, count * 2);
+            }
+            current[count] = arena.allocate(CHUNK_BYTES, RECORD_ALIGNMENT);
+            chunks = current;
+            chunkCount = count + 1;
+            chunkOffset = 0;
+        }
+        long record = ((long) (chunkCount - 1) << CHUNK_BITS) | chunkOffset;
+        chunkOffset += bytes;
+        return record;
+    }
+
+    private void free(long record) {
+        MemorySegment segment = chunkOf(record);
+        long base = offsetOf(record);
+        int sizeClass = sizeClass(HEADER_BYTES + length(segment, base + NAME_LENGTH_OFFSET)
+                + length(segment, base + EMAIL_LENGTH_OFFSET));
+        long[] free = freeRecords[sizeClass];
+        if (free == null) {
+            free = freeRecords[sizeClass] = new long[16];
+        } else if (freeCounts[sizeClass] == free.length) {
+            free = freeRecords[sizeClass] = Arrays.copyOf(free, free.length * 2);
+        }
+        free[freeCounts[sizeClass]++] = record;
+        freeBytes += (long) sizeClass * RECORD_ALIGNMENT;
+    }
+
+    private static int length(MemorySegment segment, long offset) {
+        return Short.toUnsignedInt(segment.get(LENGTH, offset));
+    }
+
+    private static int sizeClass(int recordBytes) {
+        return (recordBytes + RECORD_ALIGNMENT - 1) / RECORD_ALIGNMENT;
+    }
+
+    private MemorySegment chunkOf(long record) {
+        return chunks[(int) (record >>> CHUNK_BITS)];
+    }
+
+    private static long offsetOf(long record) {
+        return record & (CHUNK_BYTES - 1);
+    }
+
+    // Compares in place; the record may be rewritten meanwhile, so callers confirm on a consistent copy
+    private boolean emailMatches(long record, byte[] key, int length) {
+        MemorySegment segment = chunkOf(record);
+        long base = offsetOf(record);
+        int emailLength = length(segment, base + EMAIL_LENGTH_OFFSET);
+        int nameLength = length(segment, base + NAME_LENGTH_OFFSET);
+        if (emailLength != length || !fits(base, nameLength, emailLength)) {
+            return false;
+        }
+        long start = base + HEADER_BYTES + nameLength;
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            if (segment.get(WORD, start + i) != (long) KEY_WORD.get(key, i)) {
+                return false;
+            }
+        }
+        for (; i < length; i++) {
+            if (segment.get(ValueLayout.JAVA_BYTE, start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Copies the record into the given one; false if it was being rewritten while it was read
+    private boolean copyRecord(long record, CustomerRecord into) {
+        MemorySegment segment = chunkOf(record);
+        long base = offsetOf(record);
+        int version = (int) VERSION.getAcquire(segment, base + VERSION_OFFSET);
+        if ((version & 1) != 0) {
+            return false;
+        }
+        int nameLength = length(segment, base + NAME_LENGTH_OFFSET);
+        int emailLength = length(segment, base + EMAIL_LENGTH_OFFSET);
+        if (!fits(base, nameLength, emailLength)) {
+            return false;
+        }
+        byte[] text = into.prepare(segment.get(WORD, base + HIGH_OFFSET), segment.get(WORD, base + LOW_OFFSET),
+                nameLength, emailLength);
+        MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, base + HEADER_BYTES, text, 0, nameLength + emailLength);
+        VarHandle.loadLoadFence();
+        return (int) VERSION.get(segment, base + VERSION_OFFSET) == version;
+    }
+
+    // Lengths read while a record is rewritten are checked before they are used to address its text
+    private static boolean fits(long base, int nameLength, int emailLength) {
+        long end = base + HEADER_BYTES + (long) nameLength + emailLength;
+        return nameLength >= 0 && emailLength >= 0 && end - base <= MAX_RECORD_BYTES && end <= CHUNK_BYTES;
+    }
+
+    private CustomerID readId(long record) {
+        MemorySegment segment = chunkOf(record);
+        long base = offsetOf(record);
+        return new CustomerID(segment.get(WORD, base + HIGH_OFFSET), segment.get(WORD, base + LOW_OFFSET));
+    }
+
+    private byte[] readEmailBytes(long record) {
+        MemorySegment segment = chunkOf(record);
+        long base = offsetOf(record);
+        byte[] email = new byte[length(segment, base + EMAIL_LENGTH_OFFSET)];
+        MemorySegment.copy(segment, ValueLayout.JAVA_BYTE,
+                base + HEADER_BYTES + length(segment, base + NAME_LENGTH_OFFSET), email, 0, email.length);
+        return email;
+    }
+
+    // Eight bytes per step; the rotation carries the well-mixed high bits of each product down
+    private static int hash(byte[] bytes, int length) {
+        long hash = length;
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            hash = Long.rotateLeft((hash ^ (long) KEY_WORD.get(bytes, i)) * 0x9E3779B97F4A7C15L, 29);
+        }
+        for (; i < length; i++) {
+            hash = Long.rotateLeft((hash ^ bytes[i]) * 0x9E3779B97F4A7C15L, 29);
+        }
+        return spread((int) (hash ^ (hash >>> 32)));
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int tableCapacity(int entries) {
+        long wanted = Math.max(16, (long) entries * 2);
+        if (wanted > MAX_SLOTS) {
+            throw new IllegalArgumentException("Too many customers: " + entries);
+        }
+        return Integer.highestOneBit((int) wanted - 1) << 1;
+    }
+
+    // Frees the off-heap records; the index must not be used afterwards
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    // ids holds high word, low word and record reference for each slot; emails holds hash and reference
+    private static final class Tables {
+        final int slots;
+        final long[] ids;
+        final long[] emails;
+
+        Tables(int slots) {
+            this.slots = slots;
+            ids = new long[slots * ID_STRIDE];
+            emails = new long[slots * EMAIL_STRIDE];
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package code.primitiveobsession.customer;
+
+import code.dataclass.Customer;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Builds CustomerIndex and a pair of HashMap<String, Customer> (by id text and by email) from the same
+// customers, compares memory and lookup latency, then runs readers against a concurrent writer.
+// Run with: java code.primitiveobsession.customer.CustomerIndexBenchmark [customers] [lookups]
+public class CustomerIndexBenchmark {
+    // Keeps results alive so the JIT cannot drop the measured work
+    private static volatile Object sink;
+
+    public static void main(String[] args) throws InterruptedException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+        CustomerID[] ids = new CustomerID[count];
+        String[] idTexts = new String[count];
+        String[] emails = new String[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = CustomerID.generate();
+            idTexts[i] = ids[i].getValue();
+            emails[i] = (i % 3 == 0 ? "Customer." : "customer.") + i + "@example.com";
+        }
+
+        long before = usedHeap();
+        long start = System.nanoTime();
+        Map<String, Customer> byId = new HashMap<>();
+        Map<String, Customer> byEmail = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            Customer customer = new Customer("Customer " + i, emails[i]);
+            byId.put(idTexts[i], customer);
+            byEmail.put(emails[i].toLowerCase(Locale.ROOT), customer);
+        }
+        long mapBuild = System.nanoTime() - start;
+        long mapHeap = usedHeap() - before;
+
+        before = usedHeap();
+        start = System.nanoTime();
+        CustomerIndex index = new CustomerIndex(count);
+        for (int i = 0; i < count; i++) {
+            index.put(ids[i], "Customer " + i, emails[i]);
+        }
+        long indexBuild = System.nanoTime() - start;
+        long indexHeap = usedHeap() - before;
+
+        System.out.printf("%,d customers%n", count);
+        System.out.printf("%-25s build %6.0f ms, %6.1f heap bytes/customer%n", "HashMap x2", mapBuild / 1e6,
+                (double) mapHeap / count);
+        System.out.printf("%-25s build %6.0f ms, %6.1f heap + %6.1f off-heap bytes/customer%n", "CustomerIndex",
+                indexBuild / 1e6, (double) indexHeap / count, (double) index.offHeapBytes() / count);
+
+        // Lookup keys arrive as fresh objects parsed from requests. Looking up with the instances the maps were
+        // built from would let HashMap use a cached hash and match by identity, which no real lookup gets.
+        String[] idKeys = new String[count];
+        CustomerID[] parsedIds = new CustomerID[count];
+        String[] emailKeys = new String[count];
+        for (int i = 0; i < count; i++) {
+            idKeys[i] = new String(idTexts[i]);
+            parsedIds[i] = new CustomerID(idKeys[i]);
+            emailKeys[i] = new String(emails[i]);
+        }
+
+        CustomerRecord reused = new CustomerRecord();
+        for (int round = 0; round < 2; round++) {
+            // First round warms up the JIT
+            boolean report = round == 1;
+            measure(report, "HashMap get(id text)", lookups, count, i -> uses(byId.get(idKeys[i])));
+            measure(report, "index contains(id)", lookups, count, i -> index.contains(parsedIds[i]));
+            measure(report, "index get(id)", lookups, count, i -> uses(index.get(parsedIds[i])));
+            measure(report, "index get(id, reused)", lookups, count,
+                    i -> index.get(parsedIds[i], reused) && usesInPlace(reused));
+            measure(report, "HashMap get(email)", lookups, count,
+                    i -> uses(byEmail.get(emailKeys[i].toLowerCase(Locale.ROOT))));
+            measure(report, "index findByEmail", lookups, count, i -> uses(index.findByEmail(emailKeys[i])));
+            measure(report, "index findByEmail(reused)", lookups, count,
+                    i -> index.findByEmail(emailKeys[i], reused) && usesInPlace(reused));
+        }
+
+        concurrentReaders(index, ids, count);
+        index.close();
+    }
+
+    // Lookups read the customer's fields, as a caller would; a bare reference says little about cost
+    private static boolean uses(Customer customer) {
+        return customer != null && customer.getName().charAt(0) + customer.getEmail().charAt(0) > 0;
+    }
+
+    private static boolean uses(CustomerRecord record) {
+        return record != null && record.getName().charAt(0) + record.getEmail().charAt(0) > 0;
+    }
+
+    // A reused record holds the copied fields without decoding them into Strings
+    private static boolean usesInPlace(CustomerRecord record) {
+        return record.getNameLength() + record.getEmailLength() > 0;
+    }
+
+    private interface Lookup {
+        boolean find(int row);
+    }
+
+    private static void measure(boolean report, String label, int lookups, int count, Lookup lookup) {
+        SplittableRandom random = new SplittableRandom(9);
+        int found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            if (lookup.find(random.nextInt(count))) {
+                found++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (found != lookups) {
+            throw new IllegalStateException(label + " missed " + (lookups - found) + " customers");
+        }
+        if (report) {
+            System.out.printf("%-25s %8.1f ns/lookup%n", label, (double) elapsed / lookups);
+        }
+    }
+
+    // Readers look up customers that existed before they started while one writer keeps adding and
+    // updating; every read must find its customer, with the stored id, name and email all belonging to it
+    private static void concurrentReaders(CustomerIndex index, CustomerID[] ids, int count)
+            throws InterruptedException {
+        int readers = 3;
+        AtomicLong reads = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(readers);
+        Thread writer = Thread.ofPlatform().start(() -> {
+            for (int i = 0; i < count / 2; i++) {
+                index.put(CustomerID.generate(), "New customer " + i, "new." + i + "@example.com");
+                if (i % 4 == 0) {
+                    int existing = ThreadLocalRandom.current().nextInt(count);
+                    index.put(ids[existing], "Renamed " + existing, "moved." + existing + "@example.com");
+                }
+            }
+        });
+        for (int r = 0; r < readers; r++) {
+            Thread.ofPlatform().start(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long local = 0;
+                while (writer.isAlive()) {
+                    int row = random.nextInt(count);
+                    CustomerRecord record = index.get(ids[row]);
+                    if (record == null || !belongsTo(record, ids[row], row)) {
+                        failures.incrementAndGet();
+                    }
+                    local++;
+                }
+                reads.addAndGet(local);
+                done.countDown();
+            });
+        }
+        writer.join();
+        done.await();
+        System.out.printf("concurrent: %,d reads during %,d writes, %d failures, %,d customers%n",
+                reads.get(), count / 2 + count / 8, failures.get(), index.size());
+        if (failures.get() != 0) {
+            throw new IllegalStateException("Readers saw inconsistent records");
+        }
+        // Replaced records go back to the free lists, so updates reuse storage instead of growing it
+        System.out.printf("off-heap %,d MB, %,d MB free for reuse%n", index.offHeapBytes() >> 20,
+                index.freeBytes() >> 20);
+    }
+
+    // The writer only ever renames a customer to "Renamed <row>" and moves it to "moved.<row>@..."
+    private static boolean belongsTo(CustomerRecord record, CustomerID id, int row) {
+        String name = record.getName();
+        String email = record.getEmail();
+        return record.getId().equals(id)
+                && (name.equals("Customer " + row) || name.equals("Renamed " + row))
+                && (email.equals("customer." + row + "@example.com") || email.equals("moved." + row + "@example.com"));
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,105 @@
+package code.primitiveobsession.customer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// A customer as read back from a CustomerIndex. The index copies the record's bytes in here and the name
+// and email are decoded on first use. A record can be passed back to the index to be refilled, so a
+// caller that keeps one per thread looks customers up without allocating.
+public final class CustomerRecord {
+    private boolean filled;
+    private long high;
+    private long low;
+    private CustomerID id;
+    // Name bytes followed by email bytes
+    private byte[] text = new byte[64];
+    private int nameLength;
+    private int emailLength;
+    // Decoded on demand
+    private String name;
+    private String email;
+    // Scratch space for the normalized email of a lookup
+    private byte[] key = new byte[64];
+
+    public CustomerRecord() {
+    }
+
+    // Null until the record has been filled by a successful lookup
+    public CustomerID getId() {
+        if (id == null && filled) {
+            id = new CustomerID(high, low);
+        }
+        return id;
+    }
+
+    public String getName() {
+        if (name == null) {
+            name = new String(text, 0, nameLength, StandardCharsets.UTF_8);
+        }
+        return name;
+    }
+
+    // Stored normalized: trimmed and lower-cased
+    public String getEmail() {
+        if (email == null) {
+            email = new String(text, nameLength, emailLength, StandardCharsets.UTF_8);
+        }
+        return email;
+    }
+
+    public int getNameLength() {
+        return nameLength;
+    }
+
+    public int getEmailLength() {
+        return emailLength;
+    }
+
+    @Override
+    public String toString() {
+        return getId() + " " + getName() + " <" + getEmail() + ">";
+    }
+
+    // Buffer of at least the given length that the caller fills with the record's text
+    byte[] prepare(long high, long low, int nameLength, int emailLength) {
+        int length = nameLength + emailLength;
+        if (text.length < length) {
+            text = new byte[Math.max(length, text.length * 2)];
+        }
+        filled = true;
+        this.high = high;
+        this.low = low;
+        this.nameLength = nameLength;
+        this.emailLength = emailLength;
+        id = null;
+        name = null;
+        email = null;
+        return text;
+    }
+
+    void clear() {
+        prepare(0, 0, 0, 0);
+        filled = false;
+    }
+
+    boolean hasId(long high, long low) {
+        return this.high == high && this.low == low;
+    }
+
+    // Keeps the caller's id instance when it matches, instead of building another
+    void reuseId(CustomerID knownId) {
+        id = knownId;
+    }
+
+    boolean emailEquals(byte[] emailBytes, int length) {
+        return emailLength == length
+                && Arrays.equals(text, nameLength, nameLength + length, emailBytes, 0, length);
+    }
+
+    byte[] keyBuffer(int length) {
+        if (key.length < length) {
+            key = new byte[Math.max(length, key.length * 2)];
+        }
+        return key;
+    }
+}
@@ -0,0 +1,111 @@
+package code.primitiveobsession.productmoney;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.SplittableRandom;
+
+// Cart totals (line subtotal, 10% discount, 7.25% tax) computed with BigDecimal, with Money and with
+// MoneyMath on raw minor units. Checks all three agree, then reports time and allocation per cart.
+public class CartTotalBenchmark {
+    private static final int CARTS = 100_000;
+    private static final int LINES = 20;
+    private static final long DISCOUNT_BASIS_POINTS = 1_000;
+    private static final long TAX_BASIS_POINTS = 725;
+    private static final Currency USD = Currency.getInstance("USD");
+
+    // Keeps results alive so the JIT cannot drop the measured work
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        SplittableRandom random = new SplittableRandom(3);
+        long[][] prices = new long[CARTS][LINES];
+        int[][] quantities = new int[CARTS][LINES];
+        BigDecimal[][] bigPrices = new BigDecimal[CARTS][LINES];
+        Money[][] moneyPrices = new Money[CARTS][LINES];
+        for (int c = 0; c < CARTS; c++) {
+            for (int l = 0; l < LINES; l++) {
+                prices[c][l] = random.nextLong(99, 250_000);
+                quantities[c][l] = 1 + random.nextInt(5);
+                bigPrices[c][l] = BigDecimal.valueOf(prices[c][l], 2);
+                moneyPrices[c][l] = Money.ofMinor(prices[c][l], USD);
+            }
+        }
+
+        System.out.printf("%-12s %10s %12s%n", "impl", "ns/cart", "bytes/cart");
+        for (int round = 0; round < 10; round++) {
+            boolean report = round == 9;
+
+            long before = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            long bigTotal = 0;
+            for (int c = 0; c < CARTS; c++) {
+                bigTotal += totalBigDecimal(bigPrices[c], quantities[c]).unscaledValue().longValue();
+            }
+            print(report, "BigDecimal", start, before, threads);
+
+            before = threads.getCurrentThreadAllocatedBytes();
+            start = System.nanoTime();
+            long moneyTotal = 0;
+            for (int c = 0; c < CARTS; c++) {
+                moneyTotal += totalMoney(moneyPrices[c], quantities[c]).getMinorUnits();
+            }
+            print(report, "Money", start, before, threads);
+
+            before = threads.getCurrentThreadAllocatedBytes();
+            start = System.nanoTime();
+            long minorTotal = 0;
+            for (int c = 0; c < CARTS; c++) {
+                minorTotal += totalMinor(prices[c], quantities[c]);
+            }
+            print(report, "MoneyMath", start, before, threads);
+
+            if (bigTotal != moneyTotal || moneyTotal != minorTotal) {
+                throw new IllegalStateException("Totals differ: " + bigTotal + ", " + moneyTotal + ", " + minorTotal);
+            }
+            sink = minorTotal;
+        }
+    }
+
+    private static BigDecimal totalBigDecimal(BigDecimal[] prices, int[] quantities) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 0; i < prices.length; i++) {
+            subtotal = subtotal.add(prices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        BigDecimal discount = subtotal.multiply(BigDecimal.valueOf(DISCOUNT_BASIS_POINTS, 4))
+                .setScale(2, RoundingMode.HALF_EVEN);
+        BigDecimal discounted = subtotal.subtract(discount);
+        BigDecimal tax = discounted.multiply(BigDecimal.valueOf(TAX_BASIS_POINTS, 4)).setScale(2, RoundingMode.HALF_UP);
+        return discounted.add(tax);
+    }
+
+    private static Money totalMoney(Money[] prices, int[] quantities) {
+        Money subtotal = Money.zero(USD);
+        for (int i = 0; i < prices.length; i++) {
+            subtotal = subtotal.plus(prices[i].times(quantities[i]));
+        }
+        Money discounted = subtotal.minus(subtotal.percent(DISCOUNT_BASIS_POINTS, RoundingMode.HALF_EVEN));
+        return discounted.plus(discounted.percent(TAX_BASIS_POINTS, RoundingMode.HALF_UP));
+    }
+
+    private static long totalMinor(long[] prices, int[] quantities) {
+        long subtotal = 0;
+        for (int i = 0; i < prices.length; i++) {
+            subtotal = MoneyMath.add(subtotal, MoneyMath.multiply(prices[i], quantities[i]));
+        }
+        long discounted = subtotal - MoneyMath.percent(subtotal, DISCOUNT_BASIS_POINTS, RoundingMode.HALF_EVEN);
+        return MoneyMath.add(discounted, MoneyMath.percent(discounted, TAX_BASIS_POINTS, RoundingMode.HALF_UP));
+    }
+
+    private static void print(boolean report, String label, long start, long before,
+                              com.sun.management.ThreadMXBean threads) {
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        if (report) {
+            System.out.printf("%-12s %10.1f %,12d%n", label, (double) elapsed / CARTS, allocated / CARTS);
+        }
+    }
+}
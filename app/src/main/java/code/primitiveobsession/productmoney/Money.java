@@ -1,18 +1,225 @@
 package code.primitiveobsession.productmoney;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
 
-public class Money {
-    private BigDecimal amount;
+// Non-negative amount in a currency, held as long minor units (cents for USD). Only amounts too large
+// for a long fall back to BigDecimal; every operation checks for overflow instead of wrapping.
+// getAmount() keeps the scale an amount was created with; results of arithmetic carry the currency's
+// scale. Equality and ordering compare values, so 5 and 5.00 are equal.
+public final class Money implements Comparable<Money> {
+    private static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+
+    private final long minorUnits;
+    // Set only when the amount does not fit in minorUnits
+    private final BigDecimal overflow;
+    private final Currency currency;
+    // Scale getAmount() reports
+    private final int scale;
 
     public Money(BigDecimal amount) {
+        this(amount, DEFAULT_CURRENCY);
+    }
+
+    public Money(BigDecimal amount, Currency currency) {
         if (amount.compareTo(BigDecimal.ZERO) < 0) {
             throw new IllegalArgumentException("Amount cannot be negative");
         }
-        this.amount = amount;
+        BigDecimal scaled;
+        try {
+            scaled = amount.setScale(fractionDigits(currency), RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(amount + " has more decimal places than " + currency + " allows");
+        }
+        boolean fits = scaled.unscaledValue().bitLength() < Long.SIZE;
+        this.minorUnits = fits ? scaled.unscaledValue().longValue() : 0;
+        this.overflow = fits ? null : scaled;
+        this.currency = currency;
+        this.scale = amount.scale();
+    }
+
+    private Money(long minorUnits, BigDecimal overflow, Currency currency) {
+        if (minorUnits < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative");
+        }
+        this.minorUnits = minorUnits;
+        this.overflow = overflow;
+        this.currency = currency;
+        this.scale = currency.getDefaultFractionDigits();
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        fractionDigits(currency);
+        return new Money(minorUnits, null, currency);
+    }
+
+    public static Money zero(Currency currency) {
+        return ofMinor(0, currency);
     }
 
     public BigDecimal getAmount() {
-        return amount;
+        // Exact: the constructor only accepts amounts that are whole minor units
+        return exactAmount().setScale(scale, RoundingMode.UNNECESSARY);
+    }
+
+    // At the currency's scale, for arithmetic
+    private BigDecimal exactAmount() {
+        return overflow != null ? overflow : BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+
+    public long getMinorUnits() {
+        if (overflow != null) {
+            throw new ArithmeticException(overflow + " does not fit in long minor units");
+        }
+        return minorUnits;
+    }
+
+    public boolean fitsInMinorUnits() {
+        return overflow == null;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public Money plus(Money other) {
+        checkCurrency(other);
+        // Both sides are non-negative, so a long overflow shows up as a negative sum
+        long sum = minorUnits + other.minorUnits;
+        if (overflow == null && other.overflow == null && sum >= 0) {
+            return new Money(sum, null, currency);
+        }
+        return of(exactAmount().add(other.exactAmount()));
+    }
+
+    public Money minus(Money other) {
+        checkCurrency(other);
+        if (overflow == null && other.overflow == null) {
+            return new Money(MoneyMath.subtract(minorUnits, other.minorUnits), null, currency);
+        }
+        return of(exactAmount().subtract(other.exactAmount()));
+    }
+
+    public Money times(long quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Quantity cannot be negative");
+        }
+        if (overflow == null && Math.multiplyHigh(minorUnits, quantity) == 0) {
+            long product = minorUnits * quantity;
+            if (product >= 0) {
+                return new Money(product, null, currency);
+            }
+        }
+        return of(exactAmount().multiply(BigDecimal.valueOf(quantity)));
+    }
+
+    // Percentage in basis points: 725 is 7.25%
+    public Money percent(long basisPoints, RoundingMode mode) {
+        if (basisPoints < 0) {
+            throw new IllegalArgumentException("Percentage cannot be negative");
+        }
+        if (overflow == null) {
+            long scaled;
+            try {
+                scaled = MoneyMath.multiply(minorUnits, basisPoints);
+            } catch (ArithmeticException e) {
+                return percentSlow(BigDecimal.valueOf(basisPoints, 2), mode);
+            }
+            return new Money(MoneyMath.divide(scaled, MoneyMath.BASIS_POINTS_PER_UNIT, mode), null, currency);
+        }
+        return percentSlow(BigDecimal.valueOf(basisPoints, 2), mode);
+    }
+
+    public Money percent(BigDecimal percentage, RoundingMode mode) {
+        BigDecimal basisPoints = percentage.movePointRight(2);
+        if (basisPoints.signum() >= 0 && basisPoints.stripTrailingZeros().scale() <= 0
+                && basisPoints.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) <= 0) {
+            return percent(basisPoints.longValueExact(), mode);
+        }
+        if (percentage.signum() < 0) {
+            throw new IllegalArgumentException("Percentage cannot be negative");
+        }
+        return percentSlow(percentage, mode);
+    }
+
+    private Money percentSlow(BigDecimal percentage, RoundingMode mode) {
+        return of(exactAmount().multiply(percentage).movePointLeft(2)
+                .setScale(currency.getDefaultFractionDigits(), mode));
+    }
+
+    // Splits this amount by ratios without losing a minor unit; leftovers go to the earliest shares
+    public Money[] allocate(int... ratios) {
+        Money[] result = new Money[ratios.length];
+        if (overflow == null) {
+            long[] shares = new long[ratios.length];
+            MoneyMath.allocate(minorUnits, ratios, shares);
+            for (int i = 0; i < shares.length; i++) {
+                result[i] = new Money(shares[i], null, currency);
+            }
+            return result;
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        for (int ratio : ratios) {
+            total = total.add(BigDecimal.valueOf(ratio));
+        }
+        BigDecimal unscaled = new BigDecimal(overflow.unscaledValue());
+        BigDecimal remainder = unscaled;
+        for (int i = 0; i < ratios.length; i++) {
+            BigDecimal share = unscaled.multiply(BigDecimal.valueOf(ratios[i])).divide(total, 0, RoundingMode.FLOOR);
+            remainder = remainder.subtract(share);
+            result[i] = of(share.movePointLeft(overflow.scale()));
+        }
+        for (int i = 0; remainder.signum() > 0; i = (i + 1) % ratios.length) {
+            if (ratios[i] > 0) {
+                result[i] = result[i].plus(new Money(1, null, currency));
+                remainder = remainder.subtract(BigDecimal.ONE);
+            }
+        }
+        return result;
+    }
+
+    private Money of(BigDecimal amount) {
+        return new Money(amount, currency);
+    }
+
+    private void checkCurrency(Money other) {
+        // Currency instances are canonical, so the identity check settles the common case
+        if (currency != other.currency && !currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    private static int fractionDigits(Currency currency) {
+        int digits = currency.getDefaultFractionDigits();
+        if (digits < 0) {
+            throw new IllegalArgumentException(currency + " has no minor unit");
+        }
+        return digits;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkCurrency(other);
+        if (overflow == null && other.overflow == null) {
+            return Long.compare(minorUnits, other.minorUnits);
+        }
+        return exactAmount().compareTo(other.exactAmount());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && currency.equals(other.currency) && minorUnits == other.minorUnits
+                && (overflow == null ? other.overflow == null : overflow.equals(other.overflow));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + (overflow == null ? 0 : overflow.hashCode()) + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return currency.getCurrencyCode() + " " + getAmount().toPlainString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package code.primitiveobsession.productmoney;
+
+import java.math.RoundingMode;
+
+// Allocation-free arithmetic on amounts held as long minor units. Overflow throws ArithmeticException
+// rather than wrapping, so callers can fall back to BigDecimal.
+public final class MoneyMath {
+    public static final long BASIS_POINTS_PER_UNIT = 10_000;
+
+    private MoneyMath() {
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    public static long multiply(long amount, long quantity) {
+        return Math.multiplyExact(amount, quantity);
+    }
+
+    // amount * basisPoints / 10000, e.g. 725 basis points is 7.25%
+    public static long percent(long amount, long basisPoints, RoundingMode mode) {
+        return divide(Math.multiplyExact(amount, basisPoints), BASIS_POINTS_PER_UNIT, mode);
+    }
+
+    public static long divide(long dividend, long divisor, RoundingMode mode) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int signum = (dividend ^ divisor) < 0 ? -1 : 1;
+        long absRemainder = Math.abs(remainder);
+        // Positive when the discarded fraction is more than one half
+        int half = Long.compare(absRemainder, Math.abs(divisor) - absRemainder);
+        boolean awayFromZero = switch (mode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> signum > 0;
+            case FLOOR -> signum < 0;
+            case HALF_UP -> half >= 0;
+            case HALF_DOWN -> half > 0;
+            case HALF_EVEN -> half > 0 || (half == 0 && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return awayFromZero ? quotient + signum : quotient;
+    }
+
+    // Splits amount by ratios into shares, writing them to the caller's array; shares always add up to amount.
+    // The units left over after rounding down go one each to the earliest shares.
+    public static void allocate(long amount, int[] ratios, long[] shares) {
+        if (shares.length < ratios.length) {
+            throw new IllegalArgumentException("Shares array is shorter than ratios");
+        }
+        long total = 0;
+        for (int ratio : ratios) {
+            if (ratio < 0) {
+                throw new IllegalArgumentException("Ratios cannot be negative");
+            }
+            total += ratio;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Ratios must not all be zero");
+        }
+        long remainder = amount;
+        for (int i = 0; i < ratios.length; i++) {
+            shares[i] = divide(Math.multiplyExact(amount, ratios[i]), total, RoundingMode.FLOOR);
+            remainder -= shares[i];
+        }
+        for (int i = 0; remainder > 0; i = (i + 1) % ratios.length) {
+            if (ratios[i] > 0) {
+                shares[i]++;
+                remainder--;
+            }
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package code.primitiveobsession.useremail;
 
+import code.primitiveobsession.validation.Validators;
+
 public class Email {
     private String value;
 
     public Email(String value) {
-        if (!value.contains("@")) {
+        if (!Validators.EMAIL.isValid(value)) {
             throw new IllegalArgumentException("Invalid email address");
         }
         this.value = value;
@@ -0,0 +1,32 @@
+package code.primitiveobsession.validation;
+
+import java.util.BitSet;
+import java.util.List;
+
+// Validates whole columns at once and returns the rows that failed
+public final class ColumnValidation {
+    private ColumnValidation() {
+    }
+
+    public static BitSet invalidRows(List<? extends CharSequence> column, FieldValidator validator) {
+        BitSet invalid = new BitSet(column.size());
+        for (int row = 0; row < column.size(); row++) {
+            if (!validator.isValid(column.get(row))) {
+                invalid.set(row);
+            }
+        }
+        return invalid;
+    }
+
+    // Column packed into one buffer: row i spans offsets[i] to offsets[i + 1]
+    public static BitSet invalidRows(CharSequence data, int[] offsets, FieldValidator validator) {
+        int rows = offsets.length - 1;
+        BitSet invalid = new BitSet(Math.max(rows, 0));
+        for (int row = 0; row < rows; row++) {
+            if (!validator.isValid(data, offsets[row], offsets[row + 1])) {
+                invalid.set(row);
+            }
+        }
+        return invalid;
+    }
+}
@@ -0,0 +1,29 @@
+package code.primitiveobsession.validation;
+
+import java.io.Serializable;
+
+// Serializable so it can travel inside a ValidationException
+public final class FieldError implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String field;
+    private final String message;
+
+    public FieldError(String field, String message) {
+        this.field = field;
+        this.message = message;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return field + ": " + message;
+    }
+}
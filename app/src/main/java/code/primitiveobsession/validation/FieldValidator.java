@@ -0,0 +1,54 @@
+package code.primitiveobsession.validation;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Checks one field value. Validators work on a range of any CharSequence, so a column packed into
+// one buffer can be validated row by row without cutting it into Strings.
+public interface FieldValidator {
+    boolean isValid(CharSequence value, int from, int to);
+
+    default boolean isValid(CharSequence value) {
+        return value != null && isValid(value, 0, value.length());
+    }
+
+    // Exactly count ASCII digits, the same as matches("\\d{count}")
+    static FieldValidator digits(int count) {
+        return (value, from, to) -> {
+            if (to - from != count) {
+                return false;
+            }
+            for (int i = from; i < to; i++) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    static FieldValidator containing(char required) {
+        return (value, from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (value.charAt(i) == required) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    static FieldValidator notEmpty() {
+        return (value, from, to) -> to > from;
+    }
+
+    // For rules too irregular to hand-scan; the pattern is compiled once, but each check allocates a Matcher
+    static FieldValidator matching(Pattern pattern) {
+        return (value, from, to) -> {
+            Matcher matcher = pattern.matcher(value);
+            matcher.region(from, to);
+            return matcher.matches();
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package code.primitiveobsession.validation;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+// 10M validations per value type: String.matches as the value objects used to do, a precompiled Pattern,
+// and the hand-written scanners over Strings and over one packed column buffer.
+// Run with: java code.primitiveobsession.validation.ValidationBenchmark [validations]
+public class ValidationBenchmark {
+    private static final int POOL = 1_024;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        int validations = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        SplittableRandom random = new SplittableRandom(5);
+        String[] phones = new String[POOL];
+        String[] postalCodes = new String[POOL];
+        String[] emails = new String[POOL];
+        for (int i = 0; i < POOL; i++) {
+            // Roughly one value in eight is malformed
+            boolean bad = random.nextInt(8) == 0;
+            phones[i] = bad ? "555-01" + random.nextInt(1_000) : String.valueOf(2_000_000_000L + random.nextInt(999_999_999));
+            postalCodes[i] = bad ? "1O0" + random.nextInt(10) + "1" : String.format("%05d", random.nextInt(100_000));
+            emails[i] = bad ? "user" + i + ".example.com" : "user" + i + "@example.com";
+        }
+
+        System.out.printf("%-12s %-16s %10s %10s %10s%n", "type", "impl", "ns/op", "bytes/op", "invalid");
+        for (int round = 0; round < 2; round++) {
+            // First round warms up the JIT
+            boolean report = round == 1;
+            runType(report, "phone", phones, "\\d{10}", Validators.PHONE_NUMBER, validations);
+            runType(report, "postal code", postalCodes, "\\d{5}", Validators.POSTAL_CODE, validations);
+            run(report, "email", "String.contains", emails, validations, value -> value.contains("@"));
+            run(report, "email", "scanner", emails, validations, Validators.EMAIL::isValid);
+            runPacked(report, "email", emails, Validators.EMAIL, validations);
+        }
+    }
+
+    private static void runType(boolean report, String type, String[] values, String regex,
+                                FieldValidator validator, int validations) {
+        Pattern pattern = Pattern.compile(regex);
+        FieldValidator precompiled = FieldValidator.matching(pattern);
+        run(report, type, "String.matches", values, validations, value -> value.matches(regex));
+        run(report, type, "precompiled", values, validations, precompiled::isValid);
+        run(report, type, "scanner", values, validations, validator::isValid);
+        runPacked(report, type, values, validator, validations);
+    }
+
+    private static void run(boolean report, String type, String impl, String[] values, int validations,
+                            Predicate<String> check) {
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        int invalid = 0;
+        for (int i = 0; i < validations; i++) {
+            if (!check.test(values[i & (POOL - 1)])) {
+                invalid++;
+            }
+        }
+        print(report, type, impl, start, before, validations, invalid);
+    }
+
+    // The same values packed into one StringBuilder with row offsets, checked without creating Strings
+    private static void runPacked(boolean report, String type, String[] values, FieldValidator validator,
+                                  int validations) {
+        StringBuilder data = new StringBuilder();
+        int[] offsets = new int[POOL + 1];
+        for (int i = 0; i < POOL; i++) {
+            data.append(values[i]);
+            offsets[i + 1] = data.length();
+        }
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        int invalid = 0;
+        int done = 0;
+        for (; done < validations; done += POOL) {
+            invalid += ColumnValidation.invalidRows(data, offsets, validator).cardinality();
+        }
+        print(report, type, "packed column", start, before, done, invalid);
+    }
+
+    private static void print(boolean report, String type, String impl, long start, long before,
+                              int validations, int invalid) {
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+        if (report) {
+            System.out.printf("%-12s %-16s %10.1f %10.1f %,10d%n", type, impl, (double) elapsed / validations,
+                    (double) allocated / validations, invalid);
+        }
+    }
+}
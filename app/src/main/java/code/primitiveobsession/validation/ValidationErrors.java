@@ -0,0 +1,30 @@
+package code.primitiveobsession.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Collects field errors across a whole record so callers can report them together
+public class ValidationErrors {
+    private final List<FieldError> errors = new ArrayList<>();
+
+    public ValidationErrors check(String field, CharSequence value, FieldValidator validator, String message) {
+        if (!validator.isValid(value)) {
+            errors.add(new FieldError(field, message));
+        }
+        return this;
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    public List<FieldError> getErrors() {
+        return List.copyOf(errors);
+    }
+
+    public void throwIfAny() {
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+    }
+}
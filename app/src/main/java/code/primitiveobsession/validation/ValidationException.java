@@ -0,0 +1,21 @@
+package code.primitiveobsession.validation;
+
+import java.util.List;
+
+// Carries every field error found, not just the first
+public class ValidationException extends IllegalArgumentException {
+    private static final long serialVersionUID = 1L;
+
+    // Always an immutable List.copyOf, which is serializable
+    @SuppressWarnings("serial")
+    private final List<FieldError> errors;
+
+    public ValidationException(List<FieldError> errors) {
+        super(errors.size() == 1 ? errors.get(0).getMessage() : "Invalid fields " + errors);
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<FieldError> getErrors() {
+        return errors;
+    }
+}
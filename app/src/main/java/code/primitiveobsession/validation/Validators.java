@@ -0,0 +1,12 @@
+package code.primitiveobsession.validation;
+
+// Shared validators for the value objects, built once
+public final class Validators {
+    public static final FieldValidator PHONE_NUMBER = FieldValidator.digits(10);
+    public static final FieldValidator POSTAL_CODE = FieldValidator.digits(5);
+    public static final FieldValidator EMAIL = FieldValidator.containing('@');
+    public static final FieldValidator NOT_EMPTY = FieldValidator.notEmpty();
+
+    private Validators() {
+    }
+}
@@ -0,0 +1,51 @@
+package code.spaghetti;
+
+import java.util.List;
+
+// Staged version of OrderService.processOrder: validate/process, then batched database writes,
+// then batched confirmations. Stages are keyed by order id, so each order passes through them in order.
+public class OrderPipeline {
+    private final PipelineStage<Order> intake;
+    private final PipelineStage<Order> persist;
+    private final PipelineStage<Order> notify;
+
+    public OrderPipeline() {
+        this(new OrderValidator(), new OrderProcessor(), new OrderRepository(), new NotificationService());
+    }
+
+    OrderPipeline(OrderValidator validator, OrderProcessor processor,
+                  OrderRepository repository, NotificationService notificationService) {
+        notify = new PipelineStage<>("notify", 2, 1024, 100, 20, notificationService::sendConfirmations, null);
+        persist = new PipelineStage<>("persist", 2, 1024, 100, 10, repository::updateOrdersInDatabase, notify);
+        intake = new PipelineStage<>("validate", 4, 1024, 1, 0, orders -> {
+            for (Order order : orders) {
+                validator.validateOrder(order);
+                processor.processOrder(order);
+            }
+        }, persist);
+    }
+
+    public void submit(Order order) throws InterruptedException {
+        intake.submit(order, order.getId());
+    }
+
+    // Drains every stage front to back, so nothing accepted before the call is lost
+    public void shutdown() throws InterruptedException {
+        intake.shutdown();
+        persist.shutdown();
+        notify.shutdown();
+    }
+
+    public List<StageStats> getStats() {
+        return List.of(intake.stats(), persist.stats(), notify.stats());
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        OrderPipeline pipeline = new OrderPipeline();
+        for (int i = 0; i < 5; i++) {
+            pipeline.submit(new Order());
+        }
+        pipeline.shutdown();
+        pipeline.getStats().forEach(System.out::println);
+    }
+}
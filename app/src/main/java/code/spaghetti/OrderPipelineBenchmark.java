@@ -0,0 +1,82 @@
+package code.spaghetti;
+
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+// Orders/sec for the serial OrderService against the pipeline when the database and email are I/O-bound
+public class OrderPipelineBenchmark {
+    private static final int ORDERS = 2_000;
+    private static final long ROUND_TRIP_NANOS = 2_000_000;
+    private static final long PER_ITEM_NANOS = 20_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        QuietValidator validator = new QuietValidator();
+        QuietProcessor processor = new QuietProcessor();
+        SlowRepository repository = new SlowRepository();
+        SlowNotifications notifications = new SlowNotifications();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ORDERS / 10; i++) {
+            Order order = new Order();
+            validator.validateOrder(order);
+            processor.processOrder(order);
+            repository.updateOrderInDatabase(order);
+            notifications.sendConfirmation(order);
+        }
+        report("serial", ORDERS / 10, start);
+
+        OrderPipeline pipeline = new OrderPipeline(validator, processor, repository, notifications);
+        start = System.nanoTime();
+        for (int i = 0; i < ORDERS; i++) {
+            pipeline.submit(new Order());
+        }
+        pipeline.shutdown();
+        report("pipeline", ORDERS, start);
+        pipeline.getStats().forEach(System.out::println);
+    }
+
+    private static void report(String label, int orders, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-10s %,10.0f orders/sec%n", label, orders / seconds);
+    }
+
+    private static void io(int items) {
+        LockSupport.parkNanos(ROUND_TRIP_NANOS + PER_ITEM_NANOS * items);
+    }
+
+    private static class QuietValidator extends OrderValidator {
+        @Override
+        public void validateOrder(Order order) {
+        }
+    }
+
+    private static class QuietProcessor extends OrderProcessor {
+        @Override
+        public void processOrder(Order order) {
+        }
+    }
+
+    private static class SlowRepository extends OrderRepository {
+        @Override
+        public void updateOrderInDatabase(Order order) {
+            io(1);
+        }
+
+        @Override
+        public void updateOrdersInDatabase(List<Order> orders) {
+            io(orders.size());
+        }
+    }
+
+    private static class SlowNotifications extends NotificationService {
+        @Override
+        public void sendConfirmation(Order order) {
+            io(1);
+        }
+
+        @Override
+        public void sendConfirmations(List<Order> orders) {
+            io(orders.size());
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package code.spaghetti;
 
+import code.execution.RequestExecutor;
+
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
 public class OrderService {
     private OrderValidator validator = new OrderValidator();
     private OrderProcessor processor = new OrderProcessor();
@@ -13,15 +19,30 @@ public class OrderService {
         notificationService.sendConfirmation(order);
     }
 
+    // Runs the same steps in the same order, so the confirmation only goes out once the order is saved
+    public Future<?> processOrderAsync(Order order, RequestExecutor executor) {
+        return executor.submit(() -> processOrder(order));
+    }
+
     public static void main(String[] args) {
         Order order = new Order();
         OrderService service = new OrderService();
         service.processOrder(order);
+
+        try (RequestExecutor executor = RequestExecutor.virtual()) {
+            service.processOrderAsync(new Order(), executor);
+        }
     }
 }
 
 class Order {
-    // Order fields and methods
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    private final long id = NEXT_ID.incrementAndGet();
+
+    public long getId() {
+        return id;
+    }
 }
 
 class OrderValidator {
@@ -40,10 +61,18 @@ class OrderRepository {
     public void updateOrderInDatabase(Order order) {
         System.out.println("Updating database...");
     }
+
+    public void updateOrdersInDatabase(List<Order> orders) {
+        System.out.println("Updating database with " + orders.size() + " orders...");
+    }
 }
 
 class NotificationService {
     public void sendConfirmation(Order order) {
         System.out.println("Sending confirmation email...");
     }
+
+    public void sendConfirmations(List<Order> orders) {
+        System.out.println("Sending " + orders.size() + " confirmation emails...");
+    }
 }
\ No newline at end of file
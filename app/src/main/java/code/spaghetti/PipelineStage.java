@@ -0,0 +1,192 @@
+package code.spaghetti;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// A stage with one bounded queue and one worker per lane. Items with the same key always use the same
+// lane, so they are handled in submission order. A lane hands its handler up to batchSize items,
+// waiting at most maxWaitMillis for a batch to fill.
+class PipelineStage<T> {
+    private final String name;
+    private final List<BlockingQueue<Entry<T>>> lanes = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final int batchSize;
+    private final long maxWaitNanos;
+    private final Consumer<List<T>> handler;
+    private final Consumer<Entry<T>> downstream;
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    // Enqueues that may have passed the closing check and not yet landed in a lane
+    private final AtomicInteger enqueuing = new AtomicInteger();
+    private volatile boolean closing;
+    // Set once closing is set and no enqueue is still in progress; workers exit when their lane is then empty
+    private volatile boolean closed;
+
+    PipelineStage(String name, int laneCount, int capacity, int batchSize, long maxWaitMillis,
+                  Consumer<List<T>> handler, PipelineStage<T> next) {
+        if (laneCount <= 0 || capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Lanes, capacity and batch size must be positive");
+        }
+        this.name = name;
+        this.batchSize = batchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.handler = handler;
+        this.downstream = next == null ? null : next::forward;
+        for (int i = 0; i < laneCount; i++) {
+            BlockingQueue<Entry<T>> queue = new ArrayBlockingQueue<>(capacity);
+            lanes.add(queue);
+            Thread worker = new Thread(() -> run(queue), name + "-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    // Blocks while the lane is full, which pushes back on the producer
+    void submit(T item, long key) throws InterruptedException {
+        enqueue(new Entry<>(item, key), key);
+    }
+
+    // Runs on the upstream worker, which has nobody to throw to, so an item that cannot be enqueued is
+    // counted and reported as dropped
+    private void forward(Entry<T> entry) {
+        try {
+            enqueue(new Entry<>(entry.item, entry.key), entry.key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drop(1, "interrupted while forwarding");
+        } catch (IllegalStateException e) {
+            drop(1, e.getMessage());
+        }
+    }
+
+    private void enqueue(Entry<T> entry, long key) throws InterruptedException {
+        // Counted before closing is read, so shutdown either sees this enqueue or this enqueue sees closing
+        enqueuing.incrementAndGet();
+        try {
+            if (closing) {
+                throw new IllegalStateException("Stage " + name + " is shut down");
+            }
+            int lane = Math.floorMod(Long.hashCode(key), lanes.size());
+            if (!workers.get(lane).isAlive()) {
+                throw new IllegalStateException("Stage " + name + " lane " + lane + " has stopped");
+            }
+            lanes.get(lane).put(entry);
+        } finally {
+            enqueuing.decrementAndGet();
+        }
+    }
+
+    private void run(BlockingQueue<Entry<T>> queue) {
+        List<Entry<T>> batch = new ArrayList<>(batchSize);
+        List<T> items = new ArrayList<>(batchSize);
+        try {
+            while (!closed || !queue.isEmpty()) {
+                Entry<T> first = queue.poll(10, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Entry<T> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                handle(batch, items);
+                batch.clear();
+                items.clear();
+            }
+        } catch (InterruptedException e) {
+            // Only an outside interrupt gets here; the lane stops, and what it still held is reported lost
+            Thread.currentThread().interrupt();
+            drop(batch.size() + queue.drainTo(batch), "worker " + Thread.currentThread().getName() + " interrupted");
+        }
+    }
+
+    private void drop(int count, String reason) {
+        if (count > 0) {
+            dropped.add(count);
+            System.err.println("Stage " + name + " dropped " + count + ": " + reason);
+        }
+    }
+
+    private void handle(List<Entry<T>> batch, List<T> items) {
+        for (Entry<T> entry : batch) {
+            items.add(entry.item);
+        }
+        try {
+            handler.accept(items);
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            System.err.println("Stage " + name + " failed a batch of " + batch.size() + ": " + e.getMessage());
+            return;
+        }
+        long now = System.nanoTime();
+        for (Entry<T> entry : batch) {
+            long latency = now - entry.enqueuedAt;
+            totalLatencyNanos.add(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        }
+        processed.add(batch.size());
+        batches.increment();
+        if (downstream != null) {
+            for (Entry<T> entry : batch) {
+                downstream.accept(entry);
+            }
+        }
+    }
+
+    // Stops accepting work and waits for the queued items to be handled
+    void shutdown() throws InterruptedException {
+        closing = true;
+        // An enqueue that got past the check may still be blocked on a full lane; workers keep draining
+        // until it lands
+        while (enqueuing.get() > 0) {
+            Thread.sleep(1);
+        }
+        closed = true;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    StageStats stats() {
+        int depth = 0;
+        for (BlockingQueue<Entry<T>> lane : lanes) {
+            depth += lane.size();
+        }
+        long count = processed.sum();
+        return new StageStats(name, depth, count, failed.sum(), dropped.sum(), batches.sum(),
+                count == 0 ? 0 : totalLatencyNanos.sum() / count, maxLatencyNanos.get());
+    }
+
+    private static class Entry<T> {
+        private final T item;
+        private final long key;
+        private final long enqueuedAt = System.nanoTime();
+
+        Entry(T item, long key) {
+            this.item = item;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package code.spaghetti;
+
+public class StageStats {
+    private final String name;
+    private final int queueDepth;
+    private final long processed;
+    private final long failed;
+    private final long dropped;
+    private final long batches;
+    private final long averageLatencyNanos;
+    private final long maxLatencyNanos;
+
+    StageStats(String name, int queueDepth, long processed, long failed, long dropped, long batches,
+               long averageLatencyNanos, long maxLatencyNanos) {
+        this.name = name;
+        this.queueDepth = queueDepth;
+        this.processed = processed;
+        this.failed = failed;
+        this.dropped = dropped;
+        this.batches = batches;
+        this.averageLatencyNanos = averageLatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    // Accepted items lost without being handled, e.g. because a worker was interrupted
+    public long getDropped() {
+        return dropped;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    // Time from entering the stage queue until the stage finished with the item
+    public long getAverageLatencyNanos() {
+        return averageLatencyNanos;
+    }
+
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s: depth=%d processed=%d failed=%d dropped=%d batches=%d avgLatency=%dus maxLatency=%dus",
+                name, queueDepth, processed, failed, dropped, batches, averageLatencyNanos / 1_000,
+                maxLatencyNanos / 1_000);
+    }
+}
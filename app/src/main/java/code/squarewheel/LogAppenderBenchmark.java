@@ -0,0 +1,82 @@
+package code.squarewheel;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Lines/sec through logback's FileAppender, AsyncAppender(FileAppender) and MappedFileAppender
+public class LogAppenderBenchmark {
+    private static final int LINES = 500_000;
+    private static final String PATTERN = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger - %msg%n";
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("appender-bench");
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        for (int round = 0; round < 3; round++) {
+            run(context, "FileAppender", fileAppender(context, dir.resolve("file-" + round + ".log")));
+
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("async");
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.addAppender(fileAppender(context, dir.resolve("async-" + round + ".log")));
+            async.start();
+            run(context, "AsyncAppender", async);
+
+            MappedFileAppender<ILoggingEvent> mapped = new MappedFileAppender<>();
+            mapped.setContext(context);
+            mapped.setName("mapped");
+            mapped.setEncoder(encoder(context));
+            mapped.setFile(dir.resolve("mapped-" + round + ".log").toString());
+            mapped.start();
+            run(context, "MappedFileAppender", mapped);
+        }
+        System.out.println("Output written to " + dir);
+    }
+
+    private static FileAppender<ILoggingEvent> fileAppender(LoggerContext context, Path file) {
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setName("file");
+        appender.setEncoder(encoder(context));
+        appender.setFile(file.toString());
+        appender.start();
+        return appender;
+    }
+
+    private static PatternLayoutEncoder encoder(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        return encoder;
+    }
+
+    private static void run(LoggerContext context, String label, Appender<ILoggingEvent> appender) {
+        Logger logger = context.getLogger(LogAppenderBenchmark.class);
+        logger.setAdditive(false);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+        long start = System.nanoTime();
+        for (int i = 0; i < LINES; i++) {
+            logger.info("This is an informational message {}", i);
+        }
+        long logged = System.nanoTime() - start;
+        logger.detachAppender(appender);
+        appender.stop();
+        long drained = System.nanoTime() - start;
+        System.out.printf("%-20s %,12.0f lines/sec (%,12.0f including shutdown flush)%n",
+                label, LINES / (logged / 1e9), LINES / (drained / 1e9));
+    }
+}
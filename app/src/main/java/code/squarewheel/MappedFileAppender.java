@@ -0,0 +1,215 @@
+package code.squarewheel;
+
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Writes encoded events into a memory-mapped, pre-sized file instead of issuing a write per line.
+// The unused tail of a segment is zero-filled, which is how the last valid offset is found after a crash.
+public class MappedFileAppender<E> extends AppenderBase<E> {
+    private static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    private Encoder<E> encoder;
+    private String file;
+    private long segmentSize = DEFAULT_SEGMENT_SIZE;
+    private long syncIntervalMillis = 1000;
+    private int maxHistory = 10;
+
+    private FileChannel channel;
+    private volatile MappedByteBuffer buffer;
+    private ScheduledExecutorService syncer;
+    private int nextRollIndex = 1;
+
+    public void setEncoder(Encoder<E> encoder) {
+        this.encoder = encoder;
+    }
+
+    public Encoder<E> getEncoder() {
+        return encoder;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setSegmentSize(long segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public void setSyncIntervalMillis(long syncIntervalMillis) {
+        this.syncIntervalMillis = syncIntervalMillis;
+    }
+
+    public void setMaxHistory(int maxHistory) {
+        this.maxHistory = maxHistory;
+    }
+
+    @Override
+    public void start() {
+        if (encoder == null) {
+            addError("No encoder set for the appender named [" + name + "]");
+            return;
+        }
+        if (file == null) {
+            addError("No file set for the appender named [" + name + "]");
+            return;
+        }
+        if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE) {
+            addError("Segment size must be between 1 and " + Integer.MAX_VALUE + " bytes");
+            return;
+        }
+        try {
+            Path parent = Paths.get(file).toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            while (Files.exists(rolledPath(nextRollIndex))) {
+                nextRollIndex++;
+            }
+            openSegment();
+        } catch (IOException e) {
+            addError("Failed to open mapped log file [" + file + "]", e);
+            return;
+        }
+        if (syncIntervalMillis > 0) {
+            syncer = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "mapped-appender-sync-" + name);
+                thread.setDaemon(true);
+                return thread;
+            });
+            syncer.scheduleWithFixedDelay(this::sync, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        if (syncer != null) {
+            syncer.shutdown();
+        }
+        synchronized (this) {
+            super.stop();
+            try {
+                write(encoder.footerBytes());
+                closeSegment();
+            } catch (IOException e) {
+                addError("Failed to close mapped log file [" + file + "]", e);
+            }
+        }
+    }
+
+    // Called under AppenderBase's lock
+    @Override
+    protected void append(E event) {
+        try {
+            write(encoder.encode(event));
+        } catch (IOException e) {
+            addError("Failed to write to mapped log file [" + file + "]", e);
+        }
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        if (bytes == null || bytes.length == 0) {
+            return;
+        }
+        if (buffer == null) {
+            // A roll-over failed after closing the previous segment; reopen the active file
+            openSegment();
+        }
+        if (bytes.length > buffer.remaining()) {
+            rollOver();
+        }
+        if (bytes.length > buffer.remaining()) {
+            addWarn("Dropping an event of " + bytes.length + " bytes, larger than the segment size");
+            return;
+        }
+        buffer.put(bytes);
+    }
+
+    // closeSegment clears buffer before truncating, so a later sync skips the closed segment; one already
+    // forcing it only flushes pages, which does not touch the truncated tail
+    private void sync() {
+        MappedByteBuffer current = buffer;
+        if (current != null) {
+            current.force();
+        }
+    }
+
+    private void rollOver() throws IOException {
+        closeSegment();
+        Path active = Paths.get(file);
+        Files.move(active, rolledPath(nextRollIndex), StandardCopyOption.REPLACE_EXISTING);
+        if (maxHistory > 0) {
+            Files.deleteIfExists(rolledPath(nextRollIndex - maxHistory));
+        }
+        nextRollIndex++;
+        openSegment();
+    }
+
+    private void openSegment() throws IOException {
+        channel = FileChannel.open(Paths.get(file),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(channel.size(), segmentSize);
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(size, Integer.MAX_VALUE));
+        int offset = recoverOffset(mapped);
+        mapped.position(offset);
+        buffer = mapped;
+        if (offset == 0) {
+            write(encoder.headerBytes());
+        }
+    }
+
+    // Trims the segment file to what was written so a cleanly closed log is plain text
+    private void closeSegment() throws IOException {
+        MappedByteBuffer current = buffer;
+        current.force();
+        buffer = null;
+        channel.truncate(current.position());
+        channel.close();
+    }
+
+    // Skips the zero-filled tail, then drops any torn line after the last newline. Data without any
+    // newline is not a torn line of ours, so it is kept and new events are appended after it.
+    static int recoverOffset(MappedByteBuffer mapped) {
+        int dataEnd = mapped.capacity();
+        while (dataEnd >= Long.BYTES && mapped.getLong(dataEnd - Long.BYTES) == 0) {
+            dataEnd -= Long.BYTES;
+        }
+        while (dataEnd > 0 && mapped.get(dataEnd - 1) == 0) {
+            dataEnd--;
+        }
+        int end = dataEnd;
+        while (end > 0 && mapped.get(end - 1) != '\n') {
+            end--;
+        }
+        if (end == 0) {
+            return dataEnd;
+        }
+        for (int i = end; i < dataEnd; i++) {
+            mapped.put(i, (byte) 0);
+        }
+        return end;
+    }
+
+    private Path rolledPath(int index) {
+        return Paths.get(file + "." + index);
+    }
+}
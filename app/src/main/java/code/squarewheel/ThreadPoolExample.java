@@ -1,12 +1,22 @@
 package code.squarewheel;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import code.execution.ExecutorRegistry;
+import code.execution.InstrumentedExecutor;
+import code.execution.RejectionPolicy;
+
+import java.util.concurrent.TimeUnit;
 
 public class ThreadPoolExample {
-    public static void main(String[] args) {
-        ExecutorService executor = Executors.newFixedThreadPool(5);
-        executor.submit(() -> System.out.println("Task executed"));
-        executor.shutdown();
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorRegistry executors = new ExecutorRegistry();
+        InstrumentedExecutor cpu = executors.cpu("cpu");
+        InstrumentedExecutor io = executors.io("io", 5, 100, RejectionPolicy.CALLER_RUNS);
+
+        cpu.submit(() -> System.out.println("Task executed"));
+        io.submit(() -> System.out.println("I/O task executed"));
+
+        executors.shutdownAll();
+        executors.awaitTermination(5, TimeUnit.SECONDS);
+        executors.stats().forEach(System.out::println);
     }
-}
\ No newline at end of file
+}
@@ -1,21 +1,69 @@
 package code.violationofencapsulation;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Balance is held in minor units (cents) and changed only through CAS, so concurrent updates are never lost
 public class Account {
-    private double balance;
+    static final long MINOR_UNITS_PER_UNIT = 100;
+    private static final VarHandle BALANCE;
+
+    static {
+        try {
+            BALANCE = MethodHandles.lookup().findVarHandle(Account.class, "balance", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile long balance;
 
     public double getBalance() {
+        return (double) balance / MINOR_UNITS_PER_UNIT;
+    }
+
+    public long getBalanceMinor() {
         return balance;
     }
 
     public void deposit(double amount) {
         if (amount > 0) {
-            balance += amount;
+            depositMinor(toMinorUnits(amount));
         }
     }
 
     public void withdraw(double amount) {
-        if (amount > 0 && amount <= balance) {
-            balance -= amount;
+        if (amount > 0) {
+            withdrawMinor(toMinorUnits(amount));
         }
     }
+
+    public void depositMinor(long amount) {
+        if (amount <= 0) {
+            return;
+        }
+        long current;
+        do {
+            current = balance;
+        } while (!BALANCE.compareAndSet(this, current, Math.addExact(current, amount)));
+    }
+
+    // Returns false, leaving the balance untouched, if the account cannot cover the amount
+    public boolean withdrawMinor(long amount) {
+        if (amount <= 0) {
+            return false;
+        }
+        long current;
+        do {
+            current = balance;
+            if (amount > current) {
+                return false;
+            }
+        } while (!BALANCE.compareAndSet(this, current, current - amount));
+        return true;
+    }
+
+    static long toMinorUnits(double amount) {
+        return Math.round(amount * MINOR_UNITS_PER_UNIT);
+    }
 }
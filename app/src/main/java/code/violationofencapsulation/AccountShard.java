@@ -0,0 +1,117 @@
+package code.violationofencapsulation;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// One partition of the account store. Every method except call() and close() must run on the owner
+// thread, which is the only thread that ever reads or writes the holdings, so no locking is needed.
+final class AccountShard implements AutoCloseable {
+    private final ExecutorService owner;
+    private final Map<String, Holding> holdings = new HashMap<>();
+
+    AccountShard(int index) {
+        owner = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("account-shard-" + index).daemon(true).factory());
+    }
+
+    <T> CompletableFuture<T> call(Supplier<T> action) {
+        return CompletableFuture.supplyAsync(action, owner);
+    }
+
+    boolean open(String accountId, long openingMinor) {
+        return holdings.putIfAbsent(accountId, new Holding(openingMinor)) == null;
+    }
+
+    boolean transferLocal(String from, String to, long amount) {
+        Holding source = holding(from);
+        Holding target = holding(to);
+        if (source.available < amount) {
+            return false;
+        }
+        // Add first, so an overflow leaves both accounts untouched
+        long credited = Math.addExact(target.available, amount);
+        source.available -= amount;
+        target.available = credited;
+        return true;
+    }
+
+    // Phase one of a cross-shard transfer: move funds from available into held
+    boolean reserve(String accountId, long amount) {
+        Holding source = holding(accountId);
+        if (source.available < amount) {
+            return false;
+        }
+        source.available -= amount;
+        source.held += amount;
+        return true;
+    }
+
+    // Phase two, once the other shard has credited the funds
+    void commit(String accountId, long amount) {
+        holding(accountId).held -= amount;
+    }
+
+    // Phase two, when the credit could not be applied
+    void release(String accountId, long amount) {
+        Holding source = holding(accountId);
+        source.held -= amount;
+        source.available += amount;
+    }
+
+    boolean credit(String accountId, long amount) {
+        Holding target = holdings.get(accountId);
+        if (target == null) {
+            return false;
+        }
+        target.available = Math.addExact(target.available, amount);
+        return true;
+    }
+
+    boolean contains(String accountId) {
+        return holdings.containsKey(accountId);
+    }
+
+    long available(String accountId) {
+        return holding(accountId).available;
+    }
+
+    long totalMinor() {
+        long total = 0;
+        for (Holding holding : holdings.values()) {
+            total += holding.available + holding.held;
+        }
+        return total;
+    }
+
+    private Holding holding(String accountId) {
+        Holding holding = holdings.get(accountId);
+        if (holding == null) {
+            throw new IllegalArgumentException("Unknown account " + accountId);
+        }
+        return holding;
+    }
+
+    @Override
+    public void close() {
+        owner.shutdown();
+        try {
+            owner.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Holding {
+        long available;
+        long held;
+
+        Holding(long available) {
+            this.available = available;
+        }
+    }
+}
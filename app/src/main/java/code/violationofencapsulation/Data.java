@@ -1,13 +1,31 @@
 package code.violationofencapsulation;
 
 public class Data {
-    private int[] values;
+    // Immutable, so it can be handed out and stored without defensive copies. Readers take no lock;
+    // every write goes through this object's lock so set() never overwrites a concurrent replacement.
+    private volatile IntVector values = IntVector.empty();
 
     public int[] getValues() {
-        return values.clone(); // Return a copy to prevent modification
+        return values.toArray(); // Return a copy to prevent modification
     }
 
     public void setValues(int[] values) {
-        this.values = values.clone(); // Store a copy to ensure encapsulation
+        setVector(IntVector.of(values)); // Store a copy to ensure encapsulation
     }
-}
\ No newline at end of file
+
+    public IntVector getVector() {
+        return values;
+    }
+
+    public synchronized void setVector(IntVector values) {
+        this.values = values;
+    }
+
+    public int get(int index) {
+        return values.get(index);
+    }
+
+    public synchronized void set(int index, int value) {
+        values = values.set(index, value);
+    }
+}
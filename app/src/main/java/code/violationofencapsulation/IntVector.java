@@ -0,0 +1,129 @@
+package code.violationofencapsulation;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+// Immutable int sequence stored as a 32-way trie over 1024-int leaves. Updates copy one leaf and the
+// path above it and share everything else with the previous version; reads never copy.
+public final class IntVector {
+    private static final int LEAF_BITS = 10;
+    private static final int LEAF_SIZE = 1 << LEAF_BITS;
+    private static final int LEAF_MASK = LEAF_SIZE - 1;
+    private static final int BRANCH_BITS = 5;
+    private static final int BRANCH_SIZE = 1 << BRANCH_BITS;
+    private static final int BRANCH_MASK = BRANCH_SIZE - 1;
+
+    private static final IntVector EMPTY = new IntVector(0, 0, new int[0]);
+
+    private final int size;
+    // Number of branch levels above the leaves; zero means the root is itself a leaf
+    private final int height;
+    private final Object root;
+
+    private IntVector(int size, int height, Object root) {
+        this.size = size;
+        this.height = height;
+        this.root = root;
+    }
+
+    public static IntVector empty() {
+        return EMPTY;
+    }
+
+    public static IntVector of(int... values) {
+        if (values.length == 0) {
+            return EMPTY;
+        }
+        int leafCount = (values.length + LEAF_MASK) >>> LEAF_BITS;
+        Object[] level = new Object[leafCount];
+        for (int i = 0; i < leafCount; i++) {
+            int from = i << LEAF_BITS;
+            level[i] = Arrays.copyOfRange(values, from, Math.min(values.length, from + LEAF_SIZE));
+        }
+        int height = 0;
+        while (level.length > 1) {
+            Object[] parents = new Object[(level.length + BRANCH_MASK) >>> BRANCH_BITS];
+            for (int i = 0; i < parents.length; i++) {
+                int from = i << BRANCH_BITS;
+                parents[i] = Arrays.copyOfRange(level, from, Math.min(level.length, from + BRANCH_SIZE));
+            }
+            level = parents;
+            height++;
+        }
+        return new IntVector(values.length, height, level[0]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int get(int index) {
+        return leafFor(index)[index & LEAF_MASK];
+    }
+
+    // Returns a new version with one element replaced; this version is unchanged
+    public IntVector set(int index, int value) {
+        if (get(index) == value) {
+            return this;
+        }
+        return new IntVector(size, height, set(root, height, index, value));
+    }
+
+    private static Object set(Object node, int level, int index, int value) {
+        if (level == 0) {
+            int[] leaf = ((int[]) node).clone();
+            leaf[index & LEAF_MASK] = value;
+            return leaf;
+        }
+        Object[] branch = ((Object[]) node).clone();
+        int slot = childSlot(index, level);
+        branch[slot] = set(branch[slot], level - 1, index, value);
+        return branch;
+    }
+
+    public int leafCount() {
+        return (size + LEAF_MASK) >>> LEAF_BITS;
+    }
+
+    // Read-only view of one leaf, for bulk scans without copying
+    public IntBuffer leaf(int leafIndex) {
+        if (leafIndex < 0 || leafIndex >= leafCount()) {
+            throw new IndexOutOfBoundsException("Leaf " + leafIndex + " out of range for " + leafCount() + " leaves");
+        }
+        return IntBuffer.wrap(leafFor(leafIndex << LEAF_BITS)).asReadOnlyBuffer();
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int leafIndex = 0, count = leafCount(); leafIndex < count; leafIndex++) {
+            for (int value : leafFor(leafIndex << LEAF_BITS)) {
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    public int[] toArray() {
+        int[] copy = new int[size];
+        for (int leafIndex = 0, count = leafCount(); leafIndex < count; leafIndex++) {
+            int[] leaf = leafFor(leafIndex << LEAF_BITS);
+            System.arraycopy(leaf, 0, copy, leafIndex << LEAF_BITS, leaf.length);
+        }
+        return copy;
+    }
+
+    private int[] leafFor(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range for size " + size);
+        }
+        Object node = root;
+        for (int level = height; level > 0; level--) {
+            node = ((Object[]) node)[childSlot(index, level)];
+        }
+        return (int[]) node;
+    }
+
+    private static int childSlot(int index, int level) {
+        return (index >>> (LEAF_BITS + (level - 1) * BRANCH_BITS)) & BRANCH_MASK;
+    }
+}
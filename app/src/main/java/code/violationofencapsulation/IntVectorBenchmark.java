@@ -0,0 +1,98 @@
+package code.violationofencapsulation;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntUnaryOperator;
+
+// Read-heavy and write-heavy accessor costs for the clone-per-call Data versus the IntVector-backed one.
+// 100M elements needs a heap of about 2 GB (-Xmx2g).
+// Run with: java code.violationofencapsulation.IntVectorBenchmark [size,size,...]
+public class IntVectorBenchmark {
+    private static final long BUDGET_NANOS = 500_000_000L;
+
+    // Keeps results alive so the JIT cannot drop the measured work
+    private static volatile long sink;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        String sizes = args.length > 0 ? args[0] : "1000,1000000,100000000";
+        System.out.printf("%-11s %-12s %-8s %16s %16s%n", "size", "workload", "impl", "ns/op", "bytes/op");
+        for (String size : sizes.split(",")) {
+            run(Integer.parseInt(size.trim()));
+        }
+    }
+
+    private static void run(int size) {
+        int[] initial = new int[size];
+        for (int i = 0; i < size; i++) {
+            initial[i] = i;
+        }
+
+        CloningData cloning = new CloningData();
+        cloning.setValues(initial);
+        report(size, "point read", "clone", i -> cloning.getValues()[i]);
+        report(size, "full scan", "clone", i -> {
+            long sum = 0;
+            for (int value : cloning.getValues()) {
+                sum += value;
+            }
+            return (int) sum;
+        });
+        report(size, "point write", "clone", i -> {
+            int[] values = cloning.getValues();
+            values[i]++;
+            cloning.setValues(values);
+            return 0;
+        });
+        cloning.setValues(new int[0]);
+
+        Data data = new Data();
+        data.setValues(initial);
+        initial = null;
+        report(size, "point read", "vector", i -> data.getVector().get(i));
+        report(size, "full scan", "vector", i -> (int) data.getVector().sum());
+        report(size, "point write", "vector", i -> {
+            data.set(i, data.get(i) + 1);
+            return 0;
+        });
+    }
+
+    // Repeats the operation until the time budget runs out, at least three times, then reports averages
+    private static void report(int size, String workload, String impl, IntUnaryOperator op) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long checksum = 0;
+        for (int i = 0; i < 3; i++) {
+            checksum += op.applyAsInt(random.nextInt(size));
+        }
+        long ops = 0;
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < 64; i++) {
+                checksum += op.applyAsInt(random.nextInt(size));
+            }
+            ops += 64;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < BUDGET_NANOS && (ops < 3 || size < 10_000_000));
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+        sink = checksum;
+        System.out.printf("%-11d %-12s %-8s %,16.1f %,16d%n", size, workload, impl,
+                (double) elapsed / ops, allocated / ops);
+    }
+
+    // The original Data: defensive clone on every read and write
+    private static final class CloningData {
+        private int[] values;
+
+        int[] getValues() {
+            return values.clone();
+        }
+
+        void setValues(int[] values) {
+            this.values = values.clone();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package code.violationofencapsulation;
+
+public final class JournalEntry {
+    private final long sequence;
+    private final long batchId;
+    private final String accountId;
+    private final long delta;
+
+    JournalEntry(long sequence, long batchId, String accountId, long delta) {
+        this.sequence = sequence;
+        this.batchId = batchId;
+        this.accountId = accountId;
+        this.delta = delta;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    // Entries written by one deposit, withdrawal or transfer batch share a batch id
+    public long getBatchId() {
+        return batchId;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    // Signed change in minor units
+    public long getDelta() {
+        return delta;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " batch " + batchId + " " + accountId + " " + (delta >= 0 ? "+" : "") + delta;
+    }
+}
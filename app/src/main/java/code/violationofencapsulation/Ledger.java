@@ -0,0 +1,113 @@
+package code.violationofencapsulation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Thread-safe set of accounts with an append-only journal of every applied change.
+// A transfer batch is all-or-nothing: debits are taken first with CAS and undone if any one fails,
+// so no account is ever overdrawn. Other threads can briefly see debits before the matching credits.
+public class Ledger {
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final Queue<JournalEntry> journal = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    public Account open(String accountId) {
+        return accounts.computeIfAbsent(accountId, id -> new Account());
+    }
+
+    public Account get(String accountId) {
+        Account account = accounts.get(accountId);
+        if (account == null) {
+            throw new IllegalArgumentException("Unknown account " + accountId);
+        }
+        return account;
+    }
+
+    public void deposit(String accountId, long amountMinor) {
+        if (amountMinor <= 0) {
+            throw new IllegalArgumentException("Deposit amount must be positive");
+        }
+        get(accountId).depositMinor(amountMinor);
+        record(batches.incrementAndGet(), accountId, amountMinor);
+    }
+
+    public boolean withdraw(String accountId, long amountMinor) {
+        if (!get(accountId).withdrawMinor(amountMinor)) {
+            return false;
+        }
+        record(batches.incrementAndGet(), accountId, -amountMinor);
+        return true;
+    }
+
+    public boolean transfer(String from, String to, long amountMinor) {
+        return applyBatch(List.of(new Transfer(from, to, amountMinor)));
+    }
+
+    public boolean applyBatch(List<Transfer> transfers) {
+        Map<String, Long> net = new LinkedHashMap<>();
+        for (Transfer transfer : transfers) {
+            net.merge(transfer.getFrom(), -transfer.getAmountMinor(), Math::addExact);
+            net.merge(transfer.getTo(), transfer.getAmountMinor(), Math::addExact);
+        }
+        // Every account is looked up before any money moves, so an unknown id changes nothing
+        Map<String, Account> resolved = new HashMap<>();
+        for (String accountId : net.keySet()) {
+            resolved.put(accountId, get(accountId));
+        }
+        List<Map.Entry<String, Long>> debited = new ArrayList<>();
+        for (Map.Entry<String, Long> change : net.entrySet()) {
+            long delta = change.getValue();
+            if (delta >= 0) {
+                continue;
+            }
+            if (!resolved.get(change.getKey()).withdrawMinor(-delta)) {
+                for (Map.Entry<String, Long> undo : debited) {
+                    resolved.get(undo.getKey()).depositMinor(-undo.getValue());
+                }
+                return false;
+            }
+            debited.add(change);
+        }
+        for (Map.Entry<String, Long> change : net.entrySet()) {
+            if (change.getValue() > 0) {
+                resolved.get(change.getKey()).depositMinor(change.getValue());
+            }
+        }
+        long batchId = batches.incrementAndGet();
+        for (Map.Entry<String, Long> change : net.entrySet()) {
+            if (change.getValue() != 0) {
+                record(batchId, change.getKey(), change.getValue());
+            }
+        }
+        return true;
+    }
+
+    private void record(long batchId, String accountId, long delta) {
+        journal.add(new JournalEntry(sequence.incrementAndGet(), batchId, accountId, delta));
+    }
+
+    // Entries may be out of sequence order when read concurrently with writers; sort by sequence if needed
+    public List<JournalEntry> journal() {
+        return new ArrayList<>(journal);
+    }
+
+    public long totalBalanceMinor() {
+        long total = 0;
+        for (Account account : accounts.values()) {
+            total += account.getBalanceMinor();
+        }
+        return total;
+    }
+
+    public Map<String, Account> accounts() {
+        return accounts;
+    }
+}
@@ -0,0 +1,154 @@
+package code.violationofencapsulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Stress check for the ledger invariants, then contended throughput against a synchronized baseline.
+// Run with: java code.violationofencapsulation.LedgerBenchmark [threads] [accounts] [seconds]
+public class LedgerBenchmark {
+    private static final long OPENING_BALANCE = 10_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors() * 2;
+        int accounts = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        stressCheck(threads, accounts);
+
+        System.out.printf("%-14s %8s %8s %14s%n", "impl", "threads", "accounts", "transfers/s");
+        for (int run = 0; run < 2; run++) {
+            // First round warms up the JIT
+            boolean report = run == 1;
+            long ledger = run(threads, accounts, seconds, new LedgerTarget(accounts));
+            long locked = run(threads, accounts, seconds, new SynchronizedTarget(accounts));
+            if (report) {
+                System.out.printf("%-14s %8d %8d %,14d%n", "ledger", threads, accounts, ledger / seconds);
+                System.out.printf("%-14s %8d %8d %,14d%n", "synchronized", threads, accounts, locked / seconds);
+            }
+        }
+    }
+
+    // Hammers a small ledger with overlapping batches, then checks money is conserved, nothing went
+    // negative and replaying the journal reproduces every balance
+    private static void stressCheck(int threads, int accounts) throws InterruptedException {
+        Ledger ledger = new Ledger();
+        for (int i = 0; i < accounts; i++) {
+            ledger.open(id(i));
+            ledger.deposit(id(i), OPENING_BALANCE);
+        }
+        long expectedTotal = accounts * OPENING_BALANCE;
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong negativeSeen = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread.ofPlatform().start(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 50_000; i++) {
+                    List<Transfer> batch = new ArrayList<>();
+                    int size = 1 + random.nextInt(3);
+                    for (int j = 0; j < size; j++) {
+                        int from = random.nextInt(accounts);
+                        int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+                        batch.add(new Transfer(id(from), id(to), 1 + random.nextInt(5_000)));
+                    }
+                    if (!ledger.applyBatch(batch)) {
+                        rejected.incrementAndGet();
+                    }
+                    if (ledger.get(id(random.nextInt(accounts))).getBalanceMinor() < 0) {
+                        negativeSeen.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+
+        long[] replayed = new long[accounts];
+        for (JournalEntry entry : ledger.journal()) {
+            replayed[Integer.parseInt(entry.getAccountId().substring(1))] += entry.getDelta();
+        }
+        boolean journalMatches = true;
+        for (int i = 0; i < accounts; i++) {
+            journalMatches &= replayed[i] == ledger.get(id(i)).getBalanceMinor();
+        }
+        long total = ledger.totalBalanceMinor();
+        System.out.println("stress: total " + total + " (expected " + expectedTotal + "), negative balances seen "
+                + negativeSeen.get() + ", journal replay " + (journalMatches ? "matches" : "MISMATCH")
+                + ", rejected batches " + rejected.get());
+        if (total != expectedTotal || negativeSeen.get() != 0 || !journalMatches) {
+            throw new IllegalStateException("Ledger invariant violated");
+        }
+    }
+
+    private static long run(int threads, int accounts, int seconds, Target target) throws InterruptedException {
+        AtomicLong completed = new AtomicLong();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread.ofPlatform().start(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long count = 0;
+                while ((count & 0x3FF) != 0 || System.nanoTime() < deadline) {
+                    int from = random.nextInt(accounts);
+                    int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+                    target.transfer(from, to, 1 + random.nextInt(100));
+                    count++;
+                }
+                completed.addAndGet(count);
+                done.countDown();
+            });
+        }
+        done.await();
+        return completed.get();
+    }
+
+    private static String id(int index) {
+        return "A" + index;
+    }
+
+    private interface Target {
+        void transfer(int from, int to, long amount);
+    }
+
+    // Uses the account CAS paths directly so the comparison is about the update strategy, not journaling
+    private static final class LedgerTarget implements Target {
+        private final Account[] accounts;
+
+        LedgerTarget(int count) {
+            accounts = new Account[count];
+            for (int i = 0; i < count; i++) {
+                accounts[i] = new Account();
+                accounts[i].depositMinor(OPENING_BALANCE);
+            }
+        }
+
+        @Override
+        public void transfer(int from, int to, long amount) {
+            if (accounts[from].withdrawMinor(amount)) {
+                accounts[to].depositMinor(amount);
+            }
+        }
+    }
+
+    // The straightforward fix for the original class: one lock guarding every balance
+    private static final class SynchronizedTarget implements Target {
+        private final long[] balances;
+
+        SynchronizedTarget(int count) {
+            balances = new long[count];
+            Arrays.fill(balances, OPENING_BALANCE);
+        }
+
+        @Override
+        public synchronized void transfer(int from, int to, long amount) {
+            if (balances[from] >= amount) {
+                balances[from] -= amount;
+                balances[to] += amount;
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package code.violationofencapsulation;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Immutable member list with an open-addressing hash index, so contains() is O(1).
+// A snapshot is never modified after construction and can be shared freely between threads.
+// Snapshots built by with() share a buffer with spare capacity: the first with() on a snapshot claims the
+// next slot and appends in place, so adding a member is amortized O(1) instead of a full copy. Each
+// snapshot only sees the first size slots and ignores index entries for positions past them.
+public final class MemberSnapshot extends AbstractList<String> implements RandomAccess {
+    static final MemberSnapshot EMPTY = new MemberSnapshot(new String[0], 0);
+
+    private static final int MIN_CAPACITY = 4;
+
+    private final String[] members;
+    private final int size;
+    // Slot holds member position + 1; zero marks an empty slot
+    private final int[] index;
+    // Slots of the shared buffer handed out so far; only the snapshot of exactly that size may append
+    private final AtomicInteger claimed;
+
+    // Takes ownership of the first size slots of members and indexes them
+    private MemberSnapshot(String[] members, int size) {
+        this.members = members;
+        this.size = size;
+        this.index = new int[Math.max(2, Integer.highestOneBit(Math.max(1, members.length) * 2) << 1)];
+        this.claimed = new AtomicInteger(size);
+        for (int i = 0; i < size; i++) {
+            index[freeSlot(members[i])] = i + 1;
+        }
+    }
+
+    private MemberSnapshot(MemberSnapshot previous, int size) {
+        this.members = previous.members;
+        this.size = size;
+        this.index = previous.index;
+        this.claimed = previous.claimed;
+    }
+
+    @Override
+    public String get(int position) {
+        Objects.checkIndex(position, size);
+        return members[position];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object member) {
+        if (!(member instanceof String name)) {
+            return false;
+        }
+        int mask = index.length - 1;
+        for (int slot = spread(name.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            // Racy with an append to the shared buffer, which only ever fills an empty slot past our size
+            int entry = index[slot];
+            if (entry == 0) {
+                return false;
+            }
+            if (entry <= size) {
+                String candidate = members[entry - 1];
+                if (candidate == name || candidate.equals(name)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    @Override
+    public int indexOf(Object member) {
+        return contains(member) ? super.indexOf(member) : -1;
+    }
+
+    MemberSnapshot with(String member) {
+        if (contains(member)) {
+            return this;
+        }
+        if (size < members.length && claimed.compareAndSet(size, size + 1)) {
+            // Written before the new snapshot is published, so its readers see both
+            members[size] = member;
+            index[freeSlot(member)] = size + 1;
+            return new MemberSnapshot(this, size + 1);
+        }
+        // Buffer full, or another snapshot already appended after ours: copy our part into a new buffer
+        String[] grown = new String[Math.max(MIN_CAPACITY, size * 2)];
+        System.arraycopy(members, 0, grown, 0, size);
+        grown[size] = member;
+        return new MemberSnapshot(grown, size + 1);
+    }
+
+    MemberSnapshot withAll(Collection<String> added) {
+        Set<String> seen = new HashSet<>(this);
+        List<String> grown = new ArrayList<>(this);
+        for (String member : added) {
+            if (seen.add(member)) {
+                grown.add(member);
+            }
+        }
+        return grown.size() == size ? this : new MemberSnapshot(grown.toArray(new String[0]), grown.size());
+    }
+
+    MemberSnapshot without(String member) {
+        if (!contains(member)) {
+            return this;
+        }
+        String[] shrunk = new String[size - 1];
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            if (!members[i].equals(member)) {
+                shrunk[next++] = members[i];
+            }
+        }
+        return new MemberSnapshot(shrunk, shrunk.length);
+    }
+
+    private int freeSlot(String member) {
+        int mask = index.length - 1;
+        int slot = spread(member.hashCode()) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
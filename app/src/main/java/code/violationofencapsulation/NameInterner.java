@@ -0,0 +1,23 @@
+package code.violationofencapsulation;
+
+import code.primitiveobsession.Interner;
+
+// Canonical String instances for names that repeat across many teams, so each is stored once. Backed by
+// the concurrent weak Interner, so Team.addMember calls do not serialize on one lock, and a name that no
+// team holds any more is dropped by the GC instead of staying for the life of the JVM.
+final class NameInterner {
+    // The interner holds its key strongly and the value weakly, so the value must be a separate String
+    // object; new String(name) shares the name's characters, adding only an object header
+    private static final Interner<String> NAMES = new Interner<>(String::new);
+
+    private NameInterner() {
+    }
+
+    static String intern(String name) {
+        return NAMES.intern(name);
+    }
+
+    static int size() {
+        return NAMES.size();
+    }
+}
@@ -0,0 +1,128 @@
+package code.violationofencapsulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Accounts partitioned across single-writer shards. Transfers within a shard run as one task on
+// its owner thread; transfers between shards reserve on the source, credit the target, then commit
+// or release the reservation, so funds are never spent twice and a failed credit is rolled back.
+public class ShardedAccountStore implements AutoCloseable {
+    private final AccountShard[] shards;
+    private final AtomicLong localTransfers = new AtomicLong();
+    private final AtomicLong crossShardTransfers = new AtomicLong();
+    private final AtomicLong rejectedTransfers = new AtomicLong();
+
+    public ShardedAccountStore(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1");
+        }
+        shards = new AccountShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new AccountShard(i);
+        }
+    }
+
+    public CompletableFuture<Void> open(String accountId, long openingMinor) {
+        if (openingMinor < 0) {
+            throw new IllegalArgumentException("Opening balance cannot be negative");
+        }
+        AccountShard shard = shardFor(accountId);
+        return shard.call(() -> {
+            if (!shard.open(accountId, openingMinor)) {
+                throw new IllegalArgumentException("Account " + accountId + " already exists");
+            }
+            return null;
+        });
+    }
+
+    // Completes with false if the source lacks funds, or exceptionally if either account is unknown
+    public CompletableFuture<Boolean> transfer(String from, String to, long amountMinor) {
+        if (amountMinor <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive");
+        }
+        if (from.equals(to)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        AccountShard source = shardFor(from);
+        AccountShard target = shardFor(to);
+        if (source == target) {
+            localTransfers.incrementAndGet();
+            return source.call(() -> source.transferLocal(from, to, amountMinor)).thenApply(this::countRejection);
+        }
+        crossShardTransfers.incrementAndGet();
+        return source.call(() -> source.reserve(from, amountMinor)).thenCompose(reserved -> {
+            if (!reserved) {
+                return CompletableFuture.completedFuture(false);
+            }
+            // handle() rather than thenCompose(): a credit that throws must release the reservation too
+            return target.call(() -> target.credit(to, amountMinor)).handle((credited, failure) -> source.call(() -> {
+                if (failure != null || !credited) {
+                    source.release(from, amountMinor);
+                    throw failure != null ? asCompletionException(failure)
+                            : new IllegalArgumentException("Unknown account " + to);
+                }
+                source.commit(from, amountMinor);
+                return true;
+            })).thenCompose(settled -> settled);
+        }).thenApply(this::countRejection);
+    }
+
+    public CompletableFuture<Long> balance(String accountId) {
+        AccountShard shard = shardFor(accountId);
+        return shard.call(() -> shard.available(accountId));
+    }
+
+    // Reservations count toward the total, so this is only exact once no transfers are in flight
+    public long totalMinor() {
+        List<CompletableFuture<Long>> totals = new ArrayList<>();
+        for (AccountShard shard : shards) {
+            totals.add(shard.call(shard::totalMinor));
+        }
+        long total = 0;
+        for (CompletableFuture<Long> shardTotal : totals) {
+            total += shardTotal.join();
+        }
+        return total;
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public long getLocalTransfers() {
+        return localTransfers.get();
+    }
+
+    public long getCrossShardTransfers() {
+        return crossShardTransfers.get();
+    }
+
+    public long getRejectedTransfers() {
+        return rejectedTransfers.get();
+    }
+
+    private boolean countRejection(boolean applied) {
+        if (!applied) {
+            rejectedTransfers.incrementAndGet();
+        }
+        return applied;
+    }
+
+    private static CompletionException asCompletionException(Throwable failure) {
+        return failure instanceof CompletionException completion ? completion : new CompletionException(failure);
+    }
+
+    private AccountShard shardFor(String accountId) {
+        return shards[Math.floorMod(accountId.hashCode(), shards.length)];
+    }
+
+    @Override
+    public void close() {
+        for (AccountShard shard : shards) {
+            shard.close();
+        }
+    }
+}
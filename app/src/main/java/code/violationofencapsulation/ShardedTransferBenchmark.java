@@ -0,0 +1,85 @@
+package code.violationofencapsulation;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Transfers/sec for the sharded store as shard count and hot-account skew vary.
+// Skew is the chance that each side of a transfer is the single hot account.
+// Run with: java code.violationofencapsulation.ShardedTransferBenchmark [clients] [accounts] [seconds]
+public class ShardedTransferBenchmark {
+    private static final int[] SHARD_COUNTS = {1, 2, 4, 8};
+    private static final double[] SKEWS = {0.0, 0.1, 0.5};
+    private static final long OPENING_BALANCE = 1_000_000;
+    private static final int MAX_IN_FLIGHT = 1_024;
+
+    public static void main(String[] args) throws InterruptedException {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int accounts = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+
+        // Warm-up round, not reported
+        run(4, 0.0, clients, accounts, 1, false);
+
+        System.out.printf("%6s %6s %14s %10s %10s%n", "shards", "skew", "transfers/s", "cross %", "rejected");
+        for (int shards : SHARD_COUNTS) {
+            for (double skew : SKEWS) {
+                run(shards, skew, clients, accounts, seconds, true);
+            }
+        }
+    }
+
+    private static void run(int shardCount, double skew, int clients, int accounts, int seconds,
+            boolean report)
+            throws InterruptedException {
+        try (ShardedAccountStore store = new ShardedAccountStore(shardCount)) {
+            for (int i = 0; i < accounts; i++) {
+                store.open(id(i), OPENING_BALANCE);
+            }
+            long expectedTotal = accounts * OPENING_BALANCE;
+
+            long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+            CountDownLatch done = new CountDownLatch(clients);
+            long start = System.nanoTime();
+            for (int c = 0; c < clients; c++) {
+                Thread.ofPlatform().start(() -> {
+                    Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        int from = pick(random, skew, accounts);
+                        int to = pick(random, skew, accounts);
+                        if (from == to) {
+                            continue;
+                        }
+                        inFlight.acquireUninterruptibly();
+                        store.transfer(id(from), id(to), 1 + random.nextInt(100))
+                                .whenComplete((applied, error) -> inFlight.release());
+                    }
+                    inFlight.acquireUninterruptibly(MAX_IN_FLIGHT);
+                    done.countDown();
+                });
+            }
+            done.await();
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            long total = store.totalMinor();
+            if (total != expectedTotal) {
+                throw new IllegalStateException("Money not conserved: " + total + " != " + expectedTotal);
+            }
+            if (!report) {
+                return;
+            }
+            long transfers = store.getLocalTransfers() + store.getCrossShardTransfers();
+            System.out.printf("%6d %6.2f %,14.0f %9.1f%% %10d%n", shardCount, skew, transfers / elapsed,
+                    100.0 * store.getCrossShardTransfers() / Math.max(1, transfers), store.getRejectedTransfers());
+        }
+    }
+
+    private static int pick(ThreadLocalRandom random, double skew, int accounts) {
+        return random.nextDouble() < skew ? 0 : random.nextInt(accounts);
+    }
+
+    private static String id(int index) {
+        return "ACC-" + index;
+    }
+}
@@ -1,16 +1,43 @@
 package code.violationofencapsulation;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class Team {
-    private List<String> members = new ArrayList<>();
+    // Readers take the current snapshot; writers publish a new one, so reads never copy or lock
+    private final AtomicReference<MemberSnapshot> members = new AtomicReference<>(MemberSnapshot.EMPTY);
 
     public List<String> getMembers() {
-        return new ArrayList<>(members); // Return a copy to prevent external modification
+        return members.get(); // Immutable snapshot, safe to hand out without copying
     }
 
     public void addMember(String member) {
-        members.add(member);
+        if (member == null) {
+            throw new IllegalArgumentException("Member name cannot be null");
+        }
+        String name = NameInterner.intern(member);
+        members.updateAndGet(snapshot -> snapshot.with(name));
     }
-}
\ No newline at end of file
+
+    // Publishes one new snapshot for the whole batch instead of one per member
+    public void addMembers(Collection<String> added) {
+        List<String> names = new ArrayList<>(added.size());
+        for (String member : added) {
+            if (member == null) {
+                throw new IllegalArgumentException("Member name cannot be null");
+            }
+            names.add(NameInterner.intern(member));
+        }
+        members.updateAndGet(snapshot -> snapshot.withAll(names));
+    }
+
+    public void removeMember(String member) {
+        members.updateAndGet(snapshot -> snapshot.without(member));
+    }
+
+    public boolean hasMember(String member) {
+        return members.get().contains(member);
+    }
+}
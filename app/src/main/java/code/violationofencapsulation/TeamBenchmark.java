@@ -0,0 +1,100 @@
+package code.violationofencapsulation;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntPredicate;
+
+// Read paths of the copy-per-read Team versus the snapshot-on-write Team, at several team sizes, plus the
+// cost of growing a team one addMember at a time
+public class TeamBenchmark {
+    private static final int[] SIZES = {10, 1_000, 100_000};
+    private static final long BUDGET_NANOS = 300_000_000L;
+
+    // Keeps results alive so the JIT cannot drop the measured work
+    private static volatile long sink;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        System.out.printf("%-8s %-12s %-10s %14s %14s%n", "members", "operation", "impl", "ns/op", "bytes/op");
+        for (int round = 0; round < 2; round++) {
+            // First round warms up the JIT
+            for (int size : SIZES) {
+                run(size, round == 1);
+            }
+        }
+    }
+
+    private static void run(int size, boolean report) {
+        CopyingTeam copying = new CopyingTeam();
+        Team team = new Team();
+        String[] names = new String[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = "member-" + i;
+            copying.addMember(names[i]);
+        }
+        team.addMembers(List.of(names));
+        measure(report, size, "getMembers", "copying", i -> copying.getMembers().size() > 0);
+        measure(report, size, "getMembers", "snapshot", i -> team.getMembers().size() > 0);
+        measure(report, size, "contains", "copying", i -> copying.getMembers().contains(names[i]));
+        measure(report, size, "contains", "snapshot", i -> team.hasMember(names[i]));
+        measureAdds(report, size, names);
+    }
+
+    // One pass, as a team only grows once; the average includes the occasional buffer copy
+    private static void measureAdds(boolean report, int size, String[] names) {
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        Team grown = new Team();
+        for (String name : names) {
+            grown.addMember(name);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+        sink = grown.getMembers().size();
+        if (report) {
+            System.out.printf("%-8d %-12s %-10s %,14.1f %,14d%n", size, "addMember", "snapshot",
+                    (double) elapsed / size, allocated / size);
+        }
+    }
+
+    private static void measure(boolean report, int size, String operation, String impl, IntPredicate op) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long hits = 0;
+        long ops = 0;
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < 256; i++) {
+                if (op.test(random.nextInt(size))) {
+                    hits++;
+                }
+            }
+            ops += 256;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < BUDGET_NANOS);
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+        sink = hits;
+        if (report) {
+            System.out.printf("%-8d %-12s %-10s %,14.1f %,14d%n", size, operation, impl,
+                    (double) elapsed / ops, allocated / ops);
+        }
+    }
+
+    // The original Team: a fresh ArrayList copy on every read
+    private static final class CopyingTeam {
+        private final List<String> members = new ArrayList<>();
+
+        List<String> getMembers() {
+            return new ArrayList<>(members);
+        }
+
+        void addMember(String member) {
+            members.add(member);
+        }
+    }
+}
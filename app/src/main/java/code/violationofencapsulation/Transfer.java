@@ -0,0 +1,31 @@
+package code.violationofencapsulation;
+
+public final class Transfer {
+    private final String from;
+    private final String to;
+    private final long amountMinor;
+
+    public Transfer(String from, String to, long amountMinor) {
+        if (amountMinor <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be positive");
+        }
+        if (from.equals(to)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        this.from = from;
+        this.to = to;
+        this.amountMinor = amountMinor;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+}
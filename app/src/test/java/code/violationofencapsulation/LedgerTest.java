@@ -0,0 +1,100 @@
+package code.violationofencapsulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LedgerTest {
+    private static final int ACCOUNTS = 20;
+    private static final long OPENING_BALANCE = 10_000;
+
+    private static Ledger ledgerWithAccounts(int count, long balance) {
+        Ledger ledger = new Ledger();
+        for (int i = 0; i < count; i++) {
+            ledger.open("acc-" + i);
+            ledger.deposit("acc-" + i, balance);
+        }
+        return ledger;
+    }
+
+    @Test
+    void concurrentTransfersConserveMoney() throws Exception {
+        Ledger ledger = ledgerWithAccounts(ACCOUNTS, OPENING_BALANCE);
+        int journalBefore = ledger.journal().size();
+        List<Future<?>> workers = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                workers.add(pool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20_000; i++) {
+                        int from = random.nextInt(ACCOUNTS);
+                        int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                        long amount = 1 + random.nextInt(3_000);
+                        if (i % 10 == 0) {
+                            int onward = (to + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                            ledger.applyBatch(List.of(new Transfer("acc-" + from, "acc-" + to, amount),
+                                    new Transfer("acc-" + to, "acc-" + onward, amount / 2 + 1)));
+                        } else {
+                            ledger.transfer("acc-" + from, "acc-" + to, amount);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+
+        assertEquals(ACCOUNTS * OPENING_BALANCE, ledger.totalBalanceMinor());
+        for (Account account : ledger.accounts().values()) {
+            assertTrue(account.getBalanceMinor() >= 0, "account overdrawn");
+        }
+        long journalNet = 0;
+        List<JournalEntry> entries = ledger.journal();
+        for (JournalEntry entry : entries.subList(journalBefore, entries.size())) {
+            journalNet += entry.getDelta();
+        }
+        assertEquals(0, journalNet);
+    }
+
+    @Test
+    void batchWithInsufficientFundsChangesNothing() {
+        Ledger ledger = ledgerWithAccounts(3, 100);
+        int journalBefore = ledger.journal().size();
+
+        boolean applied = ledger.applyBatch(List.of(
+                new Transfer("acc-0", "acc-2", 60),
+                new Transfer("acc-1", "acc-2", 150)));
+
+        assertFalse(applied);
+        assertEquals(100, ledger.get("acc-0").getBalanceMinor());
+        assertEquals(100, ledger.get("acc-1").getBalanceMinor());
+        assertEquals(100, ledger.get("acc-2").getBalanceMinor());
+        assertEquals(journalBefore, ledger.journal().size());
+    }
+
+    @Test
+    void batchWithUnknownAccountChangesNothing() {
+        Ledger ledger = ledgerWithAccounts(2, 100);
+        int journalBefore = ledger.journal().size();
+
+        assertThrows(IllegalArgumentException.class, () -> ledger.applyBatch(List.of(
+                new Transfer("acc-0", "acc-1", 40),
+                new Transfer("acc-1", "missing", 70))));
+
+        assertEquals(100, ledger.get("acc-0").getBalanceMinor());
+        assertEquals(100, ledger.get("acc-1").getBalanceMinor());
+        assertEquals(200, ledger.totalBalanceMinor());
+        assertEquals(journalBefore, ledger.journal().size());
+    }
+}